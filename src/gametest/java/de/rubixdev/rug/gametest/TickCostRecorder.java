@@ -0,0 +1,161 @@
+package de.rubixdev.rug.gametest;
+
+import carpet.CarpetServer;
+import carpet.api.settings.CarpetRule;
+import carpet.api.settings.InvalidRuleValueException;
+import carpet.api.settings.RuleHelper;
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import de.rubixdev.rug.RugServer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.test.TestContext;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Measures the average server tick time of a game test scenario, first with all rules at their defaults and then
+ * with each of the given rules changed one at a time. The results of all scenarios are written to
+ * {@code rug-tick-costs.json} in the game directory.
+ */
+public class TickCostRecorder {
+    private static final int WARMUP_TICKS = 10;
+    private static final int MEASURED_TICKS = 60;
+    private static final Path REPORT_FILE = FabricLoader.getInstance().getGameDir().resolve("rug-tick-costs.json");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final List<Result> results = Lists.newArrayList();
+    private static boolean registered = false;
+
+    @Nullable
+    private static Measurement current = null;
+
+    /**
+     * Starts measuring a scenario. The {@code workload} is run at the start of every server tick while the
+     * measurement is active, and the test completes once every rule has been measured.
+     */
+    public static void measure(TestContext context, String scenario, Runnable workload, List<RuleValue> ruleValues) {
+        if (!registered) {
+            ServerTickEvents.START_SERVER_TICK.register(TickCostRecorder::onStartTick);
+            ServerTickEvents.END_SERVER_TICK.register(TickCostRecorder::onEndTick);
+            registered = true;
+        }
+        if (current != null) {
+            context.throwGameTestException("Scenario '" + current.scenario + "' is still being measured");
+        }
+        current = new Measurement(context, scenario, workload, ruleValues.iterator());
+    }
+
+    private static void onStartTick(MinecraftServer server) {
+        if (current == null) return;
+        current.tickStart = System.nanoTime();
+        current.workload.run();
+    }
+
+    private static void onEndTick(MinecraftServer server) {
+        Measurement measurement = current;
+        if (measurement == null) return;
+
+        measurement.ticks++;
+        if (measurement.ticks > WARMUP_TICKS) measurement.nanos += System.nanoTime() - measurement.tickStart;
+        if (measurement.ticks < WARMUP_TICKS + MEASURED_TICKS) return;
+
+        double mspt = measurement.nanos / (MEASURED_TICKS * 1_000_000.0);
+        if (measurement.ruleValue == null) {
+            measurement.baselineMspt = mspt;
+        } else {
+            results.add(new Result(
+                    measurement.scenario,
+                    measurement.ruleValue.rule(),
+                    measurement.ruleValue.value(),
+                    MEASURED_TICKS,
+                    measurement.baselineMspt,
+                    mspt,
+                    mspt - measurement.baselineMspt));
+            resetRule(server, measurement.ruleValue.rule());
+        }
+
+        measurement.ticks = 0;
+        measurement.nanos = 0;
+        measurement.ruleValue = null;
+        while (measurement.ruleValues.hasNext() && measurement.ruleValue == null) {
+            RuleValue next = measurement.ruleValues.next();
+            if (setRule(server, next)) measurement.ruleValue = next;
+        }
+        if (measurement.ruleValue == null) {
+            current = null;
+            writeReport();
+            measurement.context.complete();
+        }
+    }
+
+    private static boolean setRule(MinecraftServer server, RuleValue ruleValue) {
+        CarpetRule<?> rule = CarpetServer.settingsManager.getCarpetRule(ruleValue.rule());
+        if (rule == null) {
+            RugServer.LOGGER.warn("Skipping unknown rule '" + ruleValue.rule() + "'");
+            return false;
+        }
+        try {
+            rule.set(server.getCommandSource(), ruleValue.value());
+            return true;
+        } catch (InvalidRuleValueException e) {
+            RugServer.LOGGER.warn("Skipping rule '" + ruleValue.rule() + "': " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void resetRule(MinecraftServer server, String ruleName) {
+        CarpetRule<?> rule = CarpetServer.settingsManager.getCarpetRule(ruleName);
+        if (rule != null) RuleHelper.resetToDefault(rule, server.getCommandSource());
+    }
+
+    private static void writeReport() {
+        try {
+            Files.writeString(REPORT_FILE, GSON.toJson(results));
+        } catch (IOException e) {
+            RugServer.LOGGER.error("Could not write tick cost report to " + REPORT_FILE, e);
+        }
+    }
+
+    /**
+     * A non-default value to measure a rule with.
+     */
+    public record RuleValue(String rule, String value) {}
+
+    private record Result(
+            String scenario,
+            String rule,
+            String value,
+            int ticks,
+            double baselineMspt,
+            double mspt,
+            double deltaMspt) {}
+
+    private static class Measurement {
+        private final TestContext context;
+        private final String scenario;
+        private final Runnable workload;
+        private final Iterator<RuleValue> ruleValues;
+
+        @Nullable
+        private RuleValue ruleValue = null;
+
+        private int ticks = 0;
+        private long tickStart = 0;
+        private long nanos = 0;
+        private double baselineMspt = 0;
+
+        private Measurement(TestContext context, String scenario, Runnable workload, Iterator<RuleValue> ruleValues) {
+            this.context = context;
+            this.scenario = scenario;
+            this.workload = workload;
+            this.ruleValues = ruleValues;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package de.rubixdev.rug.gametest;
+
+import carpet.CarpetServer;
+import carpet.api.settings.CarpetRule;
+import carpet.api.settings.RuleHelper;
+import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.gametest.TickCostRecorder.RuleValue;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.block.BambooBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.CropBlock;
+import net.minecraft.block.FluidBlock;
+import net.minecraft.block.PistonBlock;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.SpawnReason;
+import net.minecraft.entity.mob.SlimeEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Tick cost regression tests. Every test builds a small contraption that exercises some of Rug's rules, runs it
+ * once with default settings and then once per rule with that rule changed. Run them with
+ * {@code ./gradlew runGametest}, the results end up in {@code build/gametest/rug-tick-costs.json}.
+ *
+ * <p>Every test has its own batch, so that no two scenarios are measured at the same time.
+ */
+public class TickCostTests implements FabricGameTest {
+    private static final Set<String> SCENARIO_RULES = Set.of(
+            "anvilledIce",
+            "anvilledPackedIce",
+            "anvilledBlueIce",
+            "basaltToLavaConversion",
+            "basaltToBlackstoneConversion",
+            "zeroTickPlants",
+            "slimeChunkPercentage",
+            "honeyCombStickiness",
+            "easyHarvesting");
+
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "tickCost_anvilledIce", tickLimit = 1000)
+    public void anvilledIce(TestContext context) {
+        Block[] iceBlocks = {Blocks.FROSTED_ICE, Blocks.ICE, Blocks.PACKED_ICE};
+        int[] ticks = {0};
+        TickCostRecorder.measure(
+                context,
+                "anvilsOnIce",
+                () -> {
+                    if (ticks[0]++ % 40 != 0) return;
+                    for (int i = 0; i < iceBlocks.length; i++) {
+                        BlockPos base = new BlockPos(1 + 2 * i, 0, 1);
+                        context.setBlockState(base, Blocks.STONE);
+                        for (int y = 1; y <= 3; y++) context.setBlockState(base.up(y), iceBlocks[i]);
+                        for (int y = 4; y <= 6; y++) context.setBlockState(base.up(y), Blocks.AIR);
+                        context.setBlockState(base.up(7), Blocks.ANVIL);
+                    }
+                },
+                List.of(
+                        new RuleValue("anvilledIce", "4"),
+                        new RuleValue("anvilledPackedIce", "4"),
+                        new RuleValue("anvilledBlueIce", "4")));
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "tickCost_basaltFarm", tickLimit = 1000)
+    public void basaltFarm(TestContext context) {
+        BlockPos[] basaltPositions = {new BlockPos(2, 1, 2), new BlockPos(5, 1, 2), new BlockPos(2, 1, 5)};
+        TickCostRecorder.measure(
+                context,
+                "basaltFarm",
+                () -> {
+                    for (BlockPos pos : basaltPositions) {
+                        context.setBlockState(pos.down(), Blocks.MAGMA_BLOCK);
+                        context.setBlockState(pos.north(), Blocks.LAVA.getDefaultState());
+                        context.setBlockState(pos.east(), Blocks.LAVA.getDefaultState().with(FluidBlock.LEVEL, 2));
+                        context.setBlockState(pos.west(), Blocks.BLUE_ICE);
+                        context.setBlockState(pos.south(), Blocks.WATER);
+                        context.setBlockState(pos, Blocks.BASALT);
+                    }
+                },
+                List.of(
+                        new RuleValue("basaltToLavaConversion", "true"),
+                        new RuleValue("basaltToBlackstoneConversion", "true")));
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "tickCost_zeroTickPlants", tickLimit = 500)
+    public void zeroTickPlants(TestContext context) {
+        ServerWorld world = context.getWorld();
+        BlockState[] plants = {
+            Blocks.SUGAR_CANE.getDefaultState(),
+            Blocks.CACTUS.getDefaultState(),
+            Blocks.BAMBOO.getDefaultState().with(BambooBlock.STAGE, 0),
+            Blocks.TWISTING_VINES.getDefaultState(),
+        };
+        Block[] soils = {Blocks.SAND, Blocks.SAND, Blocks.GRASS_BLOCK, Blocks.NETHERRACK};
+        int[] ticks = {0};
+        TickCostRecorder.measure(
+                context,
+                "zeroTickPlants",
+                () -> {
+                    boolean reset = ticks[0]++ % 20 == 0;
+                    for (int i = 0; i < plants.length; i++) {
+                        BlockPos pos = new BlockPos(1 + 2 * i, 1, 2);
+                        if (reset) {
+                            context.setBlockState(pos.down(), soils[i]);
+                            context.setBlockState(pos.down().north(), Blocks.WATER);
+                            context.setBlockState(pos, plants[i]);
+                            for (int y = 1; y <= 4; y++) context.setBlockState(pos.up(y), Blocks.AIR);
+                        }
+                        world.scheduleBlockTick(context.getAbsolutePos(pos), plants[i].getBlock(), 1);
+                    }
+                },
+                List.of(new RuleValue("zeroTickPlants", "true")));
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "tickCost_slimeChunks", tickLimit = 500)
+    public void slimeChunks(TestContext context) {
+        ServerWorld world = context.getWorld();
+        BlockPos origin = context.getAbsolutePos(BlockPos.ORIGIN);
+        TickCostRecorder.measure(
+                context,
+                "slimeChunks",
+                () -> {
+                    for (int chunkX = -16; chunkX < 16; chunkX++) {
+                        for (int chunkZ = -16; chunkZ < 16; chunkZ++) {
+                            BlockPos pos = new BlockPos(origin.getX() + chunkX * 16, 10, origin.getZ() + chunkZ * 16);
+                            SlimeEntity.canSpawn(EntityType.SLIME, world, SpawnReason.NATURAL, pos, world.random);
+                        }
+                    }
+                },
+                List.of(new RuleValue("slimeChunkPercentage", "50")));
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "tickCost_pistons", tickLimit = 1000)
+    public void pistons(TestContext context) {
+        BlockPos piston = new BlockPos(0, 1, 3);
+        BlockPos power = piston.west();
+        BlockState pistonState = Blocks.STICKY_PISTON.getDefaultState().with(PistonBlock.FACING, Direction.EAST);
+        int[] ticks = {0};
+        TickCostRecorder.measure(
+                context,
+                "pistonContraption",
+                () -> {
+                    int tick = ticks[0]++;
+                    if (tick == 0) {
+                        context.setBlockState(piston, pistonState);
+                        // alternate slime and honey blocks in a 2x3 layer in front of the piston
+                        for (int x = 1; x <= 2; x++) {
+                            for (int y = 1; y <= 3; y++) {
+                                Block block = (x + y) % 2 == 0 ? Blocks.SLIME_BLOCK : Blocks.HONEY_BLOCK;
+                                context.setBlockState(new BlockPos(x, y, 3), block);
+                            }
+                        }
+                    }
+                    if (tick % 6 == 0) context.setBlockState(power, Blocks.REDSTONE_BLOCK);
+                    if (tick % 6 == 3) context.setBlockState(power, Blocks.AIR);
+                },
+                List.of(
+                        new RuleValue("honeyCombStickiness", "honey"),
+                        new RuleValue("honeyCombStickiness", "slime"),
+                        new RuleValue("honeyCombStickiness", "none")));
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "tickCost_harvestField", tickLimit = 500)
+    public void harvestField(TestContext context) {
+        ServerWorld world = context.getWorld();
+        PlayerEntity player = context.createMockPlayer();
+        BlockState matureWheat = Blocks.WHEAT.getDefaultState().with(CropBlock.AGE, CropBlock.MAX_AGE);
+        TickCostRecorder.measure(
+                context,
+                "harvestField",
+                () -> {
+                    for (int x = 0; x < 6; x++) {
+                        for (int z = 0; z < 6; z++) {
+                            BlockPos pos = new BlockPos(x, 1, z);
+                            context.setBlockState(pos.down(), Blocks.FARMLAND);
+                            context.setBlockState(pos, matureWheat);
+                            BlockPos absolutePos = context.getAbsolutePos(pos);
+                            BlockHitResult hitResult = new BlockHitResult(
+                                    Vec3d.ofCenter(absolutePos), Direction.NORTH, absolutePos, false);
+                            UseBlockCallback.EVENT.invoker().interact(player, world, Hand.MAIN_HAND, hitResult);
+                        }
+                    }
+                },
+                List.of(new RuleValue("easyHarvesting", "normal")));
+    }
+
+    /**
+     * Every rule which isn't covered by one of the scenarios above, measured on an empty structure. This mostly shows
+     * the overhead of the hooks that a rule adds to vanilla code paths.
+     */
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "tickCost_idle", tickLimit = 20000)
+    public void idle(TestContext context) {
+        List<RuleValue> ruleValues = CarpetServer.settingsManager.getCarpetRules().stream()
+                .filter(rule -> rule.categories().contains(RugSettings.RUG))
+                .filter(rule -> !SCENARIO_RULES.contains(rule.name()))
+                .map(TickCostTests::nonDefaultValue)
+                .filter(Objects::nonNull)
+                .toList();
+        TickCostRecorder.measure(context, "idle", () -> {}, ruleValues);
+    }
+
+    private static RuleValue nonDefaultValue(CarpetRule<?> rule) {
+        String defaultValue = RuleHelper.toRuleString(rule.defaultValue());
+        return rule.suggestions().stream()
+                .filter(option -> !option.equalsIgnoreCase(defaultValue))
+                .findFirst()
+                .map(option -> new RuleValue(rule.name(), option))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,42 @@
+package de.rubixdev.rug.benchmark;
+
+import de.rubixdev.rug.util.BlockPosList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockPosListBenchmark {
+    /**
+     * 12 is the vanilla push limit, 1024 the highest one carpet's {@code pushLimit} allows.
+     */
+    @Param({"12", "256", "1024"})
+    public int size;
+
+    @Param({"arrayList", "blockPosList"})
+    public String list;
+
+    /**
+     * Builds a straight line of moved blocks and looks up every position in front of it, like the piston structure
+     * resolver does while it gathers the blocks.
+     */
+    @Benchmark
+    public int gatherLine() {
+        List<BlockPos> movedBlocks = list.equals("arrayList") ? new ArrayList<>() : new BlockPosList();
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            BlockPos pos = new BlockPos(i, 64, 0);
+            if (movedBlocks.contains(pos)) found++;
+            movedBlocks.add(pos);
+            if (movedBlocks.indexOf(pos.east()) > -1) found++;
+        }
+        return found;
+    }
+}
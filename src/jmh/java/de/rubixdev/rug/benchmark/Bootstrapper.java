@@ -0,0 +1,66 @@
+package de.rubixdev.rug.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.rubixdev.rug.util.FortressSpawnHelper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+public class Bootstrapper {
+    private static boolean initialized = false;
+
+    /**
+     * Initializes the Minecraft registries, which is required before any block can be used, and binds the tags the
+     * benchmarked code checks. Without a server no datapacks are loaded, so every other tag stays empty.
+     */
+    public static synchronized void bootstrap() {
+        if (initialized) return;
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        Registries.FLUID.populateTags(Map.of(
+                FluidTags.WATER,
+                List.of(Registries.FLUID.getEntry(Fluids.WATER), Registries.FLUID.getEntry(Fluids.FLOWING_WATER)),
+                FluidTags.LAVA,
+                List.of(Registries.FLUID.getEntry(Fluids.LAVA), Registries.FLUID.getEntry(Fluids.FLOWING_LAVA))));
+        Registries.BLOCK.populateTags(
+                Map.of(FortressSpawnHelper.SPAWNABLE_FLOORS, readBlockTag(FortressSpawnHelper.SPAWNABLE_FLOORS)));
+
+        initialized = true;
+    }
+
+    /**
+     * Reads the entries of one of Rug's block tags from the data in the jar.
+     */
+    private static List<RegistryEntry<Block>> readBlockTag(TagKey<Block> tag) {
+        String path = "data/" + tag.id().getNamespace() + "/tags/blocks/" + tag.id().getPath() + ".json";
+        InputStream stream = Bootstrapper.class.getClassLoader().getResourceAsStream(path);
+        if (stream == null) throw new IllegalStateException("Missing tag file " + path);
+        try (InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            List<RegistryEntry<Block>> entries = new ArrayList<>();
+            for (JsonElement value : json.getAsJsonArray("values")) {
+                Block block = Registries.BLOCK.get(new Identifier(value.getAsString()));
+                entries.add(Registries.BLOCK.getEntry(block));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read tag file " + path, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package de.rubixdev.rug.benchmark;
+
+import com.google.gson.JsonObject;
+import de.rubixdev.rug.util.CrushingRecipes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.DyeColor;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrushingRecipesBenchmark {
+    /**
+     * Sand on gravel on black concrete needs the block below, sand on stone has no recipe at all.
+     */
+    @Param({"concrete_mixing", "cobble_crushing", "no_recipe"})
+    public String landing;
+
+    private final StubBlockView world = new StubBlockView();
+    private final BlockPos targetPos = BlockPos.ORIGIN;
+    private BlockState falling;
+    private BlockState target;
+
+    @Setup
+    public void setup() {
+        Bootstrapper.bootstrap();
+
+        // the same recipes as the built-in ones, without the rules, which need a running carpet
+        Map<Identifier, JsonObject> recipes = new HashMap<>();
+        for (DyeColor color : DyeColor.values()) {
+            JsonObject json = recipe("minecraft:sand", "minecraft:gravel", color.getName() + "_concrete_powder");
+            json.addProperty("below", "minecraft:" + color.getName() + "_concrete");
+            json.addProperty("consume_falling", true);
+            json.addProperty("symmetric", true);
+            recipes.put(new Identifier("rug", "concrete_mixing/" + color.getName()), json);
+        }
+        recipes.put(
+                new Identifier("rug", "cobble_crushing"), recipe("minecraft:anvil", "minecraft:cobblestone", "gravel"));
+        recipes.put(new Identifier("rug", "gravel_crushing"), recipe("minecraft:anvil", "minecraft:gravel", "sand"));
+        CrushingRecipes.apply(recipes);
+
+        world.setBlockState(targetPos.down(), Blocks.BLACK_CONCRETE.getDefaultState());
+        switch (landing) {
+            case "concrete_mixing" -> {
+                falling = Blocks.SAND.getDefaultState();
+                target = Blocks.GRAVEL.getDefaultState();
+            }
+            case "cobble_crushing" -> {
+                falling = Blocks.ANVIL.getDefaultState();
+                target = Blocks.COBBLESTONE.getDefaultState();
+            }
+            default -> {
+                falling = Blocks.SAND.getDefaultState();
+                target = Blocks.STONE.getDefaultState();
+            }
+        }
+        world.setBlockState(targetPos, target);
+    }
+
+    private static JsonObject recipe(String falling, String target, String result) {
+        JsonObject json = new JsonObject();
+        json.addProperty("falling", falling);
+        json.addProperty("target", target);
+        json.addProperty("result", "minecraft:" + result);
+        return json;
+    }
+
+    @Benchmark
+    public CrushingRecipes.CrushingRecipe find() {
+        return CrushingRecipes.find(falling, target, world, targetPos);
+    }
+}
@@ -0,0 +1,56 @@
+package de.rubixdev.rug.benchmark;
+
+import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.FluidHelper;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.FluidBlock;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FluidHelperBenchmark {
+    private static final BlockPos POS = BlockPos.ORIGIN;
+
+    /**
+     * `generator` surrounds the position like a basalt generator does, `empty` is the common case of no neighbors.
+     */
+    @Param({"generator", "empty"})
+    public String layout;
+
+    private StubBlockView world;
+
+    @Setup
+    public void setup() {
+        Bootstrapper.bootstrap();
+        RugSettings.basaltToBlackstoneConversion = true;
+        RugSettings.basaltToLavaConversion = true;
+
+        world = new StubBlockView();
+        if (layout.equals("generator")) {
+            world.setBlockState(POS.north(), Blocks.LAVA.getDefaultState());
+            world.setBlockState(POS.south(), Blocks.LAVA.getDefaultState().with(FluidBlock.LEVEL, 2));
+            world.setBlockState(POS.east(), Blocks.WATER.getDefaultState());
+            world.setBlockState(POS.down(), Blocks.MAGMA_BLOCK.getDefaultState());
+            // make sure the fluid tags are bound, otherwise this measures the same early out as `empty`
+            if (!FluidHelper.shouldConvertToLava(world, POS) || !FluidHelper.shouldConvertToBlackstone(world, POS)) {
+                throw new IllegalStateException("The generator layout doesn't convert basalt");
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean shouldConvertToLava() {
+        return FluidHelper.shouldConvertToLava(world, POS);
+    }
+
+    @Benchmark
+    public boolean shouldConvertToBlackstone() {
+        return FluidHelper.shouldConvertToBlackstone(world, POS);
+    }
+}
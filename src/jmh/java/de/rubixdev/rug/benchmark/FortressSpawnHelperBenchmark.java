@@ -0,0 +1,45 @@
+package de.rubixdev.rug.benchmark;
+
+import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.FortressSpawnHelper;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FortressSpawnHelperBenchmark {
+    @Param({"off", "more", "all"})
+    public String moreFortressSpawningBlocks;
+
+    private BlockState allowedFloor;
+    private BlockState otherFloor;
+
+    @Setup
+    public void setup() {
+        Bootstrapper.bootstrap();
+        RugSettings.moreFortressSpawningBlocks = moreFortressSpawningBlocks;
+        FortressSpawnHelper.updateMode();
+        allowedFloor = Blocks.RED_NETHER_BRICKS.getDefaultState();
+        otherFloor = Blocks.BASALT.getDefaultState();
+        // red nether bricks are only allowed through the tag in `more` mode, so it has to be bound
+        if (!moreFortressSpawningBlocks.equals("off") && !FortressSpawnHelper.isValidFloor(allowedFloor)) {
+            throw new IllegalStateException("Red nether bricks are not a valid floor");
+        }
+    }
+
+    @Benchmark
+    public boolean allowedFloor() {
+        return FortressSpawnHelper.isValidFloor(allowedFloor);
+    }
+
+    @Benchmark
+    public boolean otherFloor() {
+        return FortressSpawnHelper.isValidFloor(otherFloor);
+    }
+}
@@ -0,0 +1,41 @@
+package de.rubixdev.rug.benchmark;
+
+import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.SlimeChunkHelper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlimeChunkBenchmark {
+    private static final long SEED = 8486_1620_2365_4371L;
+
+    private int chunkX = 0;
+    private int chunkZ = 0;
+
+    @Setup
+    public void setup() {
+        RugSettings.slimeChunkPercentage = 10;
+    }
+
+    /**
+     * Walks through a 64x64 area of chunks, like spawn attempts spread around a farm would.
+     */
+    @Benchmark
+    public boolean isSlimeChunk() {
+        chunkX = (chunkX + 1) & 63;
+        if (chunkX == 0) chunkZ = (chunkZ + 1) & 63;
+        return SlimeChunkHelper.isSlimeChunk(SEED, chunkX, chunkZ);
+    }
+
+    @Benchmark
+    public boolean computeSlimeChunk() {
+        chunkX = (chunkX + 1) & 63;
+        if (chunkX == 0) chunkZ = (chunkZ + 1) & 63;
+        return SlimeChunkHelper.computeSlimeChunk(SEED, chunkX, chunkZ, RugSettings.slimeChunkPercentage);
+    }
+}
@@ -0,0 +1,48 @@
+package de.rubixdev.rug.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A minimal {@link BlockView} backed by a map, so that block lookups cost about the same in every benchmark.
+ */
+public class StubBlockView implements BlockView {
+    private final Map<BlockPos, BlockState> states = new HashMap<>();
+
+    public void setBlockState(BlockPos pos, BlockState state) {
+        states.put(pos.toImmutable(), state);
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return states.getOrDefault(pos, Blocks.AIR.getDefaultState());
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return 384;
+    }
+
+    @Override
+    public int getBottomY() {
+        return -64;
+    }
+}
@@ -4,26 +4,34 @@ import carpet.CarpetExtension;
 import carpet.CarpetServer;
 import carpet.api.settings.CarpetRule;
 import carpet.api.settings.RuleHelper;
-import carpet.script.Module;
-import com.google.common.base.CaseFormat;
+import carpet.utils.Messenger;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import com.mojang.brigadier.CommandDispatcher;
 import de.rubixdev.rug.commands.*;
-import de.rubixdev.rug.util.CraftingRule;
+import de.rubixdev.rug.util.BlockHooks;
+import de.rubixdev.rug.util.CraftingRules;
+import de.rubixdev.rug.util.CrushingRecipes;
+import de.rubixdev.rug.util.FluidHelper;
+import de.rubixdev.rug.util.FortressSpawnHelper;
+import de.rubixdev.rug.util.LeanMixins;
 import de.rubixdev.rug.util.Logging;
+import de.rubixdev.rug.util.PistonStickiness;
+import de.rubixdev.rug.util.RandomTickFilter;
+import de.rubixdev.rug.util.RugDataPack;
+import de.rubixdev.rug.util.ZeroTickGrowth;
 import java.io.*;
-import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.Optional;
+import java.util.Set;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.minecraft.block.*;
@@ -34,15 +42,21 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtIo;
-import net.minecraft.resource.ResourcePackManager;
+import net.minecraft.network.packet.s2c.play.SynchronizeRecipesS2CPacket;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeManager;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceFinder;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.command.ReloadCommand;
+import net.minecraft.server.PlayerManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.property.IntProperty;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
 import net.minecraft.util.Util;
 import net.minecraft.util.WorldSavePath;
 import net.minecraft.util.math.BlockPos;
@@ -58,8 +72,19 @@ public class RugServer implements CarpetExtension, ModInitializer {
     public static final String VERSION = "1.4.3";
     public static final Logger LOGGER = LogManager.getLogger("Rug");
 
+    private static final ResourceFinder RECIPE_FINDER = ResourceFinder.json("recipes");
+
     private static MinecraftServer minecraftServer;
-    private static Path datapackPath;
+    private static final RugDataPack dataPack = new RugDataPack();
+    private static final Map<String, CraftingRules.Entry> craftingRules =
+            Maps.uniqueIndex(CraftingRules.ALL, CraftingRules.Entry::ruleName);
+    // the currently installed option of every String crafting rule
+    private static final Map<String, String> installedOptions = Maps.newHashMap();
+    private static final Map<String, byte[]> resources = Maps.newConcurrentMap();
+    private static final Map<String, JsonObject> jsonTemplates = Maps.newConcurrentMap();
+    // all enabled `rug` recipes, which are unlocked for every player
+    private static final Set<Identifier> unlockableRecipes = Sets.newHashSet();
+    private static boolean recipesChanged = false;
 
     @Override
     public String version() {
@@ -76,6 +101,16 @@ public class RugServer implements CarpetExtension, ModInitializer {
         LOGGER.info("Rug Mod v" + VERSION + " loaded!");
 
         CarpetServer.settingsManager.parseSettingsClass(RugSettings.class);
+
+        // observe all crafting rules with a single observer
+        CarpetServer.settingsManager.registerRuleObserver(RugServer::onRuleChanged);
+
+        BlockHooks.onPlacement(Blocks.BASALT, FluidHelper::convertBasaltToLava);
+        BlockHooks.onNeighborUpdate(Blocks.BASALT, FluidHelper::convertBasaltToBlackstone);
+
+        CrushingRecipes.register();
+        PistonStickiness.register();
+        ZeroTickGrowth.register();
     }
 
     @Override
@@ -106,17 +141,20 @@ public class RugServer implements CarpetExtension, ModInitializer {
         PeekCommand.register(dispatcher);
         MaxEffectCommand.register(dispatcher, registryAccess);
         ModsCommand.register(dispatcher);
+        ZeroTickCommand.register(dispatcher);
     }
 
     @Override
-    public void onServerClosed(MinecraftServer server) {
-        if (Files.isDirectory(datapackPath.resolve("data"))) {
-            try {
-                FileUtils.deleteDirectory(datapackPath.resolve("data").toFile());
-            } catch (IOException e) {
-                Logging.logStackTrace(e);
-            }
-        }
+    public void onTick(MinecraftServer server) {
+        if (!recipesChanged) return;
+        recipesChanged = false;
+        swapRecipes();
+    }
+
+    @Override
+    public void onPlayerLoggedIn(ServerPlayerEntity player) {
+        // players only get sent the recipes they don't know yet
+        player.unlockRecipes(unlockableRecipes.toArray(new Identifier[0]));
     }
 
     @Override
@@ -208,235 +246,200 @@ public class RugServer implements CarpetExtension, ModInitializer {
 
     @Override
     public void onServerLoadedWorlds(MinecraftServer server) {
-        // register observers for all crafting rules
-        for (Field f : RugSettings.class.getDeclaredFields()) {
-            CraftingRule craftingRule = f.getAnnotation(CraftingRule.class);
-            if (craftingRule == null) continue;
-            registerCraftingRule(
-                    craftingRule.name().isEmpty() ? f.getName() : craftingRule.name(),
-                    craftingRule.recipes(),
-                    craftingRule.recipeNamespace());
-        }
+        // make sure the values of all crafting rules are applied
+        updateCraftingRules();
     }
 
     public static void initializeRugData(Path datapacksPath) {
-        // delete old `Rug_flexibleData` directory if present
-        Path legacyPath = datapacksPath.resolve("Rug_flexibleData");
-        if (Files.isDirectory(legacyPath)) {
-            try {
-                FileUtils.deleteDirectory(legacyPath.toFile());
-            } catch (IOException e) {
-                Logging.logStackTrace(e);
+        // delete datapack directories left behind by older versions of Rug if present
+        for (String legacyName : List.of("Rug_flexibleData", RugDataPack.NAME)) {
+            Path legacyPath = datapacksPath.resolve(legacyName);
+            if (Files.isDirectory(legacyPath)) {
+                try {
+                    FileUtils.deleteDirectory(legacyPath.toFile());
+                } catch (IOException e) {
+                    Logging.logStackTrace(e);
+                }
             }
         }
 
-        // our datapack is called `RugData`
-        datapackPath = datapacksPath.resolve("RugData");
+        // our datapack is called `RugData` and only lives in memory. It is kept between worlds, so that only files
+        // whose content differs have to be updated
+        recipesChanged = false;
 
-        // setup basic datapack structure
-        try {
-            Files.createDirectories(datapackPath.resolve("data/rug/recipes"));
-            Files.createDirectories(datapackPath.resolve("data/rug/advancements"));
-            Files.createDirectories(datapackPath.resolve("data/minecraft/recipes"));
-            copyFile("assets/rug/RugDataStorage/pack.mcmeta", datapackPath.resolve("pack.mcmeta"));
-        } catch (IOException e) {
-            Logging.logStackTrace(e);
+        // set values of all crafting rules
+        updateCraftingRules();
+        // all datapacks are about to be loaded anyway
+        dataPack.pollChangedFiles();
+    }
+
+    public static RugDataPack getDataPack() {
+        return dataPack;
+    }
+
+    private static void onRuleChanged(ServerCommandSource source, CarpetRule<?> rule, String userInput) {
+        if (source != null && LeanMixins.requiresRestart(rule.name())) {
+            Messenger.m(
+                    source,
+                    "r " + rule.name() + " only takes effect after a restart, because of lean mode. ",
+                    "r Use /carpet setDefault to keep the change");
         }
-        // add root advancement
-        copyFile(
-                "assets/rug/RugDataStorage/rug/advancements/root.json",
-                datapackPath.resolve("data/rug/advancements/root.json"));
 
-        // set values of all crafting rules
-        for (Field f : RugSettings.class.getDeclaredFields()) {
-            CraftingRule craftingRule = f.getAnnotation(CraftingRule.class);
-            if (craftingRule == null) continue;
-            String ruleName = craftingRule.name().isEmpty() ? f.getName() : craftingRule.name();
-            updateCraftingRule(
-                    CarpetServer.settingsManager.getCarpetRule(ruleName),
-                    craftingRule.recipes(),
-                    craftingRule.recipeNamespace(),
-                    ruleName);
+        if (rule.name().equals("moreFortressSpawningBlocks")) FortressSpawnHelper.updateMode();
+        if (rule.name().equals("snowMelting") || rule.name().equals("zombifiedPiglinsSpawningInPortals")) {
+            // the source is null when carpet resets the rules while the server stops
+            RandomTickFilter.update(source != null ? source.getServer() : null);
         }
-    }
 
-    private static void registerCraftingRule(String ruleName, String[] recipes, String recipeNamespace) {
-        updateCraftingRule(CarpetServer.settingsManager.getCarpetRule(ruleName), recipes, recipeNamespace, ruleName);
+        CraftingRules.Entry craftingRule = craftingRules.get(rule.name());
+        if (craftingRule == null) return;
+        updateCraftingRule(rule, craftingRule);
+        // swap the recipes once at the end of the tick, no matter how many rules changed
+        recipesChanged = true;
+    }
 
-        CarpetServer.settingsManager.registerRuleObserver((source, rule, s) -> {
-            if (rule.name().equals(ruleName)) {
-                updateCraftingRule(rule, recipes, recipeNamespace, ruleName);
-                reload();
-            }
-        });
+    private static void updateCraftingRules() {
+        craftingRules.forEach((ruleName, craftingRule) ->
+                updateCraftingRule(CarpetServer.settingsManager.getCarpetRule(ruleName), craftingRule));
     }
 
-    private static void updateCraftingRule(
-            CarpetRule<?> rule, String[] recipes, String recipeNamespace, String ruleName) {
-        ruleName = CaseFormat.LOWER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, ruleName);
+    private static void updateCraftingRule(CarpetRule<?> rule, CraftingRules.Entry craftingRule) {
+        String[] recipes = craftingRule.recipes();
+        String recipeNamespace = craftingRule.recipeNamespace();
 
         if (rule.type() == String.class) {
             String value = RuleHelper.toRuleString(rule.value());
 
-            List<String> installedRecipes = Lists.newArrayList();
-            try {
-                Stream<Path> fileStream = Files.list(
-                        datapackPath.resolve("data").resolve(recipeNamespace).resolve("recipes"));
-                fileStream.forEach((path -> {
-                    for (String recipeName : recipes) {
-                        String fileName = path.getFileName().toString();
-                        if (fileName.startsWith(recipeName)) {
-                            installedRecipes.add(fileName);
-                        }
-                    }
-                }));
-                fileStream.close();
-            } catch (IOException e) {
-                Logging.logStackTrace(e);
-            }
-
-            deleteRecipes(installedRecipes.toArray(new String[0]), recipeNamespace, ruleName, false);
-
-            if (recipeNamespace.equals("rug")) {
-                List<String> installedAdvancements = Lists.newArrayList();
-                try {
-                    Stream<Path> fileStream = Files.list(datapackPath.resolve("data/rug/advancements"));
-                    String finalRuleName = ruleName;
-                    fileStream.forEach((path -> {
-                        String fileName = path.getFileName().toString().replace(".json", "");
-                        if (fileName.startsWith(finalRuleName)) {
-                            installedAdvancements.add(fileName);
-                        }
-                    }));
-                    fileStream.close();
-                } catch (IOException e) {
-                    Logging.logStackTrace(e);
-                }
-                for (String advancement : installedAdvancements.toArray(new String[0])) {
-                    removeAdvancement(advancement);
-                }
+            String installedValue = installedOptions.remove(craftingRule.ruleName());
+            if (installedValue != null) {
+                deleteRecipes(optionRecipes(recipes, installedValue), recipeNamespace);
             }
 
             if (!value.equals("off")) {
-                List<String> tempRecipes = Lists.newArrayList();
-                for (String recipeName : recipes) {
-                    tempRecipes.add(recipeName + "_" + value + ".json");
-                }
-
-                copyRecipes(tempRecipes.toArray(new String[0]), recipeNamespace, ruleName + "_" + value);
+                copyRecipes(optionRecipes(recipes, value), recipeNamespace);
+                installedOptions.put(craftingRule.ruleName(), value);
             }
         } else if (rule.type() == Integer.class && (Integer) rule.value() > 0) {
-            copyRecipes(recipes, recipeNamespace, ruleName);
-
             int value = (Integer) rule.value();
             for (String recipeName : recipes) {
-                File file = datapackPath
-                        .resolve("data")
-                        .resolve(recipeNamespace)
-                        .resolve("recipes")
-                        .resolve(recipeName)
-                        .toFile();
-                JsonObject jsonObject = readJson(file);
-                assert jsonObject != null;
-                jsonObject.getAsJsonObject("result").addProperty("count", value);
-                writeJson(jsonObject, file);
+                JsonObject recipeJson =
+                        readJsonTemplate("assets/rug/RugDataStorage/" + recipeNamespace + "/recipes/" + recipeName);
+                assert recipeJson != null;
+                recipeJson.getAsJsonObject("result").addProperty("count", value);
+                writeRecipe(recipeNamespace, recipeName, recipeJson.toString().getBytes(StandardCharsets.UTF_8));
             }
         } else if (rule.type() == Boolean.class && RuleHelper.getBooleanValue(rule)) {
-            copyRecipes(recipes, recipeNamespace, ruleName);
+            copyRecipes(recipes, recipeNamespace);
         } else {
-            deleteRecipes(recipes, recipeNamespace, ruleName, true);
+            deleteRecipes(recipes, recipeNamespace);
         }
     }
 
-    private static void copyRecipes(String[] recipes, String recipeNamespace, String ruleName) {
-        for (String recipeName : recipes) {
-            copyFile(
-                    "assets/rug/RugDataStorage/" + recipeNamespace + "/recipes/" + recipeName,
-                    datapackPath
-                            .resolve("data")
-                            .resolve(recipeNamespace)
-                            .resolve("recipes")
-                            .resolve(recipeName));
-        }
-        if (recipeNamespace.equals("rug")) {
-            writeAdvancement(ruleName, recipes);
+    private static String[] optionRecipes(String[] recipes, String value) {
+        String[] optionRecipes = new String[recipes.length];
+        for (int i = 0; i < recipes.length; i++) {
+            optionRecipes[i] = recipes[i] + "_" + value + ".json";
         }
+        return optionRecipes;
     }
 
-    private static void deleteRecipes(
-            String[] recipes, String recipeNamespace, String ruleName, boolean removeAdvancement) {
+    private static void copyRecipes(String[] recipes, String recipeNamespace) {
         for (String recipeName : recipes) {
-            try {
-                Files.deleteIfExists(datapackPath
-                        .resolve("data")
-                        .resolve(recipeNamespace)
-                        .resolve("recipes")
-                        .resolve(recipeName));
-            } catch (IOException e) {
-                Logging.logStackTrace(e);
-            }
-        }
-        if (removeAdvancement && recipeNamespace.equals("rug")) {
-            removeAdvancement(ruleName);
+            byte[] content = readResource("assets/rug/RugDataStorage/" + recipeNamespace + "/recipes/" + recipeName);
+            if (content != null) writeRecipe(recipeNamespace, recipeName, content);
         }
     }
 
-    private static void writeAdvancement(String ruleName, String[] recipes) {
-        copyFile(
-                "assets/rug/RugDataStorage/rug/advancements/recipe_rule.json",
-                datapackPath.resolve("data/rug/advancements/" + ruleName + ".json"));
-
-        JsonObject advancementJson = readJson(datapackPath
-                .resolve("data/rug/advancements/" + ruleName + ".json")
-                .toFile());
-        assert advancementJson != null;
-        JsonArray recipeRewards = advancementJson.getAsJsonObject("rewards").getAsJsonArray("recipes");
+    private static void writeRecipe(String recipeNamespace, String recipeName, byte[] content) {
+        Identifier fileId = recipeId(recipeNamespace, recipeName);
+        dataPack.put(fileId, content);
+        // `minecraft` recipes only replace vanilla ones the players already know
+        if (recipeNamespace.equals("rug")) unlockableRecipes.add(RECIPE_FINDER.toResourceId(fileId));
+    }
 
+    private static void deleteRecipes(String[] recipes, String recipeNamespace) {
         for (String recipeName : recipes) {
-            recipeRewards.add("rug:" + recipeName.replace(".json", ""));
+            Identifier fileId = recipeId(recipeNamespace, recipeName);
+            dataPack.remove(fileId);
+            unlockableRecipes.remove(RECIPE_FINDER.toResourceId(fileId));
         }
-        writeJson(
-                advancementJson,
-                datapackPath
-                        .resolve("data/rug/advancements/" + ruleName + ".json")
-                        .toFile());
     }
 
-    private static void removeAdvancement(String ruleName) {
-        try {
-            Files.deleteIfExists(datapackPath.resolve("data/rug/advancements/" + ruleName + ".json"));
-        } catch (IOException e) {
-            Logging.logStackTrace(e);
-        }
+    private static Identifier recipeId(String recipeNamespace, String recipeName) {
+        return new Identifier(recipeNamespace, "recipes/" + recipeName);
     }
 
-    private static JsonObject readJson(File file) {
-        try {
-            FileReader reader = new FileReader(file);
-            return JsonParser.parseReader(reader).getAsJsonObject();
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
-        return null;
+    /**
+     * Returns a copy of the parsed JSON of a resource from the jar, which callers are free to modify. The parsed JSON
+     * is cached, so the resource is only read and parsed once.
+     */
+    @Nullable
+    private static JsonObject readJsonTemplate(String resourcePath) {
+        JsonObject cached = jsonTemplates.get(resourcePath);
+        if (cached != null) return cached.deepCopy();
+
+        byte[] content = readResource(resourcePath);
+        if (content == null) return null;
+        JsonObject jsonObject = parseJson(content);
+        jsonTemplates.put(resourcePath, jsonObject);
+        return jsonObject.deepCopy();
     }
 
-    private static void writeJson(JsonObject jsonObject, File file) {
-        try {
-            FileWriter writer = new FileWriter(file);
-            writer.write(new GsonBuilder().setPrettyPrinting().create().toJson(jsonObject));
-            writer.close();
-        } catch (IOException e) {
-            Logging.logStackTrace(e);
-        }
+    private static JsonObject parseJson(byte[] content) {
+        return JsonParser.parseString(new String(content, StandardCharsets.UTF_8)).getAsJsonObject();
     }
 
-    private static void reload() {
-        ResourcePackManager resourcePackManager = minecraftServer.getDataPackManager();
-        resourcePackManager.scanPacks();
-        Collection<String> collection = Lists.newArrayList(resourcePackManager.getEnabledNames());
-        collection.add("RugData");
+    /**
+     * Swaps only the recipes which changed in the `RugData` datapack into the live {@link RecipeManager} instead of
+     * reloading all datapacks, and syncs them to all online players.
+     */
+    private static void swapRecipes() {
+        RecipeManager recipeManager = minecraftServer.getRecipeManager();
+        Map<Identifier, Recipe<?>> recipes = Maps.newLinkedHashMap();
+        for (Recipe<?> recipe : recipeManager.values()) {
+            recipes.put(recipe.getId(), recipe);
+        }
+
+        List<Recipe<?>> addedRecipes = Lists.newArrayList();
+        for (Identifier fileId : dataPack.pollChangedFiles()) {
+            if (!fileId.getPath().startsWith("recipes/")) continue;
+            Identifier recipeId = RECIPE_FINDER.toResourceId(fileId);
+            recipes.remove(recipeId);
+
+            JsonObject recipeJson = readRecipeJson(fileId);
+            if (recipeJson == null) continue;
+            try {
+                Recipe<?> recipe = RecipeManager.deserialize(recipeId, recipeJson);
+                recipes.put(recipeId, recipe);
+                if (unlockableRecipes.contains(recipeId)) addedRecipes.add(recipe);
+            } catch (IllegalArgumentException | JsonParseException e) {
+                LOGGER.error("Parsing error loading recipe " + recipeId, e);
+            }
+        }
+        recipeManager.setRecipes(recipes.values());
 
-        ReloadCommand.tryReloadDataPacks(collection, minecraftServer.getCommandSource());
+        PlayerManager playerManager = minecraftServer.getPlayerManager();
+        playerManager.sendToAll(new SynchronizeRecipesS2CPacket(recipeManager.values()));
+        for (ServerPlayerEntity player : playerManager.getPlayerList()) {
+            player.getRecipeBook().sendInitRecipesPacket(player);
+            player.unlockRecipes(addedRecipes);
+        }
+    }
+
+    @Nullable
+    private static JsonObject readRecipeJson(Identifier fileId) {
+        byte[] content = dataPack.get(fileId);
+        if (content != null) return parseJson(content);
+
+        // the recipe was removed from `RugData`, so fall back to the one from vanilla or other datapacks
+        Optional<Resource> resource = minecraftServer.getResourceManager().getResource(fileId);
+        if (resource.isEmpty()) return null;
+        try (Reader reader = resource.get().getReader()) {
+            return JsonHelper.deserialize(reader);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.error("Couldn't read recipe " + fileId, e);
+        }
+        return null;
     }
 
     private static boolean isMature(BlockState state) {
@@ -467,18 +470,24 @@ public class RugServer implements CarpetExtension, ModInitializer {
         return null;
     }
 
-    private static void copyFile(String resourcePath, Path targetPath) {
-        InputStream source = Module.class.getClassLoader().getResourceAsStream(resourcePath);
+    @Nullable
+    private static byte[] readResource(String resourcePath) {
+        // the contents of the jar never change, so every resource only has to be read once
+        byte[] cached = resources.get(resourcePath);
+        if (cached != null) return cached;
 
-        try {
-            assert source != null;
-            Files.copy(source, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        try (InputStream source = RugServer.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (source == null) {
+                LOGGER.error("Resource '" + resourcePath + "' is null");
+                return null;
+            }
+            byte[] content = source.readAllBytes();
+            resources.put(resourcePath, content);
+            return content;
         } catch (IOException e) {
             Logging.logStackTrace(e);
-        } catch (NullPointerException e) {
-            LOGGER.error("Resource '" + resourcePath + "' is null:");
-            Logging.logStackTrace(e);
         }
+        return null;
     }
 
     public static void savePlayerData(ServerPlayerEntity player) {
@@ -50,6 +50,9 @@ public class RugSettings {
             validators = validatorAnvilledIce.class)
     public static int anvilledPackedIce = 0;
 
+    @Rule(categories = {FEATURE, EXPERIMENTAL, OPTIMIZATION, RUG})
+    public static boolean batchedAnvilCrushing = false;
+
     @Rule(categories = {SURVIVAL, RUG})
     public static boolean zombifiedPiglinsSpawningInPortals = true;
 
@@ -110,6 +113,26 @@ public class RugSettings {
     @Rule(categories = {EXPERIMENTAL, RUG})
     public static boolean zeroTickPlants = false;
 
+    public static class validatorZeroTickPlantsBudget extends Validator<Integer> {
+        @Override
+        public Integer validate(
+                ServerCommandSource source, CarpetRule<Integer> currentRule, Integer newValue, String string) {
+            return newValue >= 0 ? newValue : null;
+        }
+
+        @Override
+        public String description() {
+            return "You must choose a value from 0 upwards";
+        }
+    }
+
+    @Rule(
+            options = {"0", "64", "256", "1024"},
+            categories = {EXPERIMENTAL, OPTIMIZATION, RUG},
+            strict = false,
+            validators = validatorZeroTickPlantsBudget.class)
+    public static int zeroTickPlantsBudget = 0;
+
     @Rule(categories = {FEATURE, RUG})
     public static boolean concreteConvertOnCauldron = false;
 
@@ -696,6 +719,9 @@ public class RugSettings {
     @Rule(categories = {COMMAND, RUG})
     public static String commandSlimeChunk = "ops";
 
+    @Rule(categories = {COMMAND, RUG})
+    public static String commandSlimeChunkMap = "ops";
+
     @Rule(categories = {EXPERIMENTAL, RUG})
     public static boolean tallPlantNoUpdate = false;
 
@@ -717,6 +743,9 @@ public class RugSettings {
     @Rule(categories = {COMMAND, RUG})
     public static String commandSudo = "ops";
 
+    @Rule(categories = {COMMAND, RUG})
+    public static String commandZeroTick = "ops";
+
     @Rule(categories = {RUG})
     public static boolean endCrystalPlacementRestriction = true;
 
@@ -896,6 +925,9 @@ public class RugSettings {
             options = {"0.5", "1.0", "2.0", "4.0"},
             validators = validatorMinecartMaxSpeedMultiplier.class)
     public static double minecartMaxSpeedMultiplier = 1.0;
+
+    @Rule(categories = {EXPERIMENTAL, OPTIMIZATION, RUG})
+    public static boolean leanMixins = false;
 }
 
 // BUGFIX
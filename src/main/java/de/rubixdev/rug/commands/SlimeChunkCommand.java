@@ -1,18 +1,51 @@
 package de.rubixdev.rug.commands;
 
 import carpet.utils.CommandHelper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import de.rubixdev.rug.RugServer;
 import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.SlimeChunkHelper;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.imageio.ImageIO;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
-import net.minecraft.util.math.random.ChunkRandom;
 import net.minecraft.world.StructureWorldAccess;
+import org.jetbrains.annotations.Nullable;
 
 public class SlimeChunkCommand {
+    private static final int DEFAULT_MAP_RADIUS = 8;
+    private static final int MAX_CHAT_RADIUS = 10;
+    // 1025x1025 chunks, about 4 MB for the image
+    private static final int MAX_MAP_RADIUS = 512;
+    private static final int SLIME_CHUNK_COLOR = 0x5DA33F;
+    private static final int OTHER_CHUNK_COLOR = 0x303030;
+    private static final int CENTER_CHUNK_COLOR = 0xE0B020;
+
+    private static final AtomicBoolean mapInProgress = new AtomicBoolean(false);
+    // a single thread of its own, so that maps don't compete with world generation on the main worker pool
+    private static final ExecutorService mapExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("Rug Slime Chunk Map")
+            .setDaemon(true)
+            .build());
+
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
         LiteralArgumentBuilder<ServerCommandSource> command = CommandManager.literal("slimechunk")
                 .requires((player) -> CommandHelper.canUseCommand(player, RugSettings.commandSlimeChunk))
@@ -21,13 +54,124 @@ public class SlimeChunkCommand {
                     if (playerEntity == null) return 0;
                     ChunkPos chunkPos = new ChunkPos(playerEntity.getBlockPos());
                     StructureWorldAccess worldAccess = c.getSource().getWorld();
-                    boolean isSlimeChunk =
-                            ChunkRandom.getSlimeRandom(chunkPos.x, chunkPos.z, worldAccess.getSeed(), 987234911L)
-                                            .nextInt(10)
-                                    < RugSettings.slimeChunkPercentage / 10;
+                    boolean isSlimeChunk = SlimeChunkHelper.isSlimeChunk(worldAccess.getSeed(), chunkPos.x, chunkPos.z);
                     playerEntity.sendMessage(Text.of("You are " + (isSlimeChunk ? "" : "not ") + "in a Slime Chunk"));
                     return 1;
-                });
+                })
+                .then(CommandManager.literal("map")
+                        .requires((player) -> CommandHelper.canUseCommand(player, RugSettings.commandSlimeChunkMap))
+                        .executes(c -> map(c.getSource(), DEFAULT_MAP_RADIUS))
+                        .then(CommandManager.argument("radius", IntegerArgumentType.integer(1, MAX_MAP_RADIUS))
+                                .executes(c -> map(c.getSource(), IntegerArgumentType.getInteger(c, "radius")))));
         dispatcher.register(command);
     }
+
+    /**
+     * Computes the slime chunks in a square around the source on a separate thread. Small areas are shown in chat,
+     * larger ones are saved as a PNG with one pixel per chunk in the world's {@code slimechunks} folder, one file per
+     * player.
+     */
+    private static int map(ServerCommandSource source, int radius) {
+        if (!mapInProgress.compareAndSet(false, true)) {
+            source.sendError(Text.of("Another slime chunk map is still being computed"));
+            return 0;
+        }
+
+        MinecraftServer server = source.getServer();
+        ChunkPos center = new ChunkPos(BlockPos.ofFloored(source.getPosition()));
+        long seed = source.getWorld().getSeed();
+        int percentage = RugSettings.slimeChunkPercentage;
+        String fileName = "slimechunks_" + (source.isExecutedByPlayer() ? source.getName() : "server") + ".png";
+
+        CompletableFuture.supplyAsync(
+                        () -> {
+                            long[][] rows = computeRows(seed, center, radius, percentage);
+                            Path file = radius <= MAX_CHAT_RADIUS ? null : writeImage(server, fileName, radius, rows);
+                            return new MapResult(rows, file);
+                        },
+                        mapExecutor)
+                .whenComplete((result, throwable) -> {
+                    // cleared here instead of on the server thread, which may already be stopped
+                    mapInProgress.set(false);
+                    server.execute(() -> {
+                        if (throwable != null) {
+                            RugServer.LOGGER.error("Could not create slime chunk map", throwable);
+                            source.sendError(Text.of("Could not create slime chunk map: " + throwable.getMessage()));
+                        } else if (result.file() == null) {
+                            sendChatMap(source, center, radius, result.rows());
+                        } else {
+                            source.sendFeedback(
+                                    () -> Text.of("Saved slime chunk map with radius " + radius + " around chunk "
+                                            + center.x + ", " + center.z + " to " + result.file()),
+                                    false);
+                        }
+                    });
+                });
+
+        source.sendFeedback(() -> Text.of("Computing slime chunks in a radius of " + radius + " chunks..."), false);
+        return 1;
+    }
+
+    /**
+     * Returns one bitset of slime chunks from west to east for every row from north to south.
+     */
+    private static long[][] computeRows(long seed, ChunkPos center, int radius, int percentage) {
+        int size = 2 * radius + 1;
+        long[][] rows = new long[size][];
+        for (int z = 0; z < size; z++) {
+            long[] bits = new long[(size + 63) / 64];
+            int chunkZ = center.z - radius + z;
+            for (int x = 0; x < size; x++) {
+                if (SlimeChunkHelper.computeSlimeChunk(seed, center.x - radius + x, chunkZ, percentage)) {
+                    bits[x >> 6] |= 1L << x;
+                }
+            }
+            rows[z] = bits;
+        }
+        return rows;
+    }
+
+    private static void sendChatMap(ServerCommandSource source, ChunkPos center, int radius, long[][] rows) {
+        source.sendFeedback(
+                () -> Text.of("Slime chunks around chunk " + center.x + ", " + center.z + " (north is up):"), false);
+        for (int z = 0; z < rows.length; z++) {
+            MutableText line = Text.empty();
+            for (int x = 0; x < rows.length; x++) {
+                boolean isSlimeChunk = isSet(rows[z], x);
+                if (x == radius && z == radius) {
+                    line.append(Text.literal(isSlimeChunk ? "■" : "□").formatted(Formatting.GOLD));
+                } else {
+                    line.append(Text.literal("■").formatted(isSlimeChunk ? Formatting.GREEN : Formatting.DARK_GRAY));
+                }
+            }
+            source.sendFeedback(() -> line, false);
+        }
+    }
+
+    private static Path writeImage(MinecraftServer server, String fileName, int radius, long[][] rows) {
+        int size = rows.length;
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        for (int z = 0; z < size; z++) {
+            for (int x = 0; x < size; x++) {
+                image.setRGB(x, z, isSet(rows[z], x) ? SLIME_CHUNK_COLOR : OTHER_CHUNK_COLOR);
+            }
+        }
+        image.setRGB(radius, radius, CENTER_CHUNK_COLOR);
+
+        Path dir = server.getSavePath(WorldSavePath.ROOT).resolve("slimechunks");
+        Path file = dir.resolve(fileName);
+        try {
+            Files.createDirectories(dir);
+            ImageIO.write(image, "png", file.toFile());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return file.normalize();
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    private record MapResult(long[][] rows, @Nullable Path file) {}
 }
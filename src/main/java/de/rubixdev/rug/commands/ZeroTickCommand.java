@@ -0,0 +1,47 @@
+package de.rubixdev.rug.commands;
+
+import carpet.utils.CommandHelper;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.ZeroTickGrowth;
+import java.util.Map;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.world.World;
+
+public class ZeroTickCommand {
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        LiteralArgumentBuilder<ServerCommandSource> command = CommandManager.literal("zerotick")
+                .requires((player) -> CommandHelper.canUseCommand(player, RugSettings.commandZeroTick))
+                .executes(c -> {
+                    ServerCommandSource source = c.getSource();
+                    Map<RegistryKey<World>, ZeroTickGrowth.Stats> stats = ZeroTickGrowth.getStats();
+                    if (stats.isEmpty()) {
+                        source.sendFeedback(() -> Text.of("No plants have been force grown"), false);
+                        return 0;
+                    }
+                    source.sendFeedback(
+                            () -> Text.of("Plants force grown by zeroTickPlants (budget: "
+                                    + (RugSettings.zeroTickPlantsBudget > 0
+                                            ? RugSettings.zeroTickPlantsBudget + " per tick"
+                                            : "unlimited")
+                                    + "):"),
+                            false);
+                    stats.forEach((world, worldStats) -> source.sendFeedback(
+                            () -> Text.of("  " + world.getValue() + ": " + worldStats.grown() + " grown, "
+                                    + worldStats.deferred() + " deferred, " + worldStats.dropped() + " dropped, "
+                                    + worldStats.pending() + " pending"),
+                            false));
+                    return 1;
+                })
+                .then(CommandManager.literal("reset").executes(c -> {
+                    ZeroTickGrowth.resetStats();
+                    c.getSource().sendFeedback(() -> Text.of("Reset the zero tick growth counters"), false);
+                    return 1;
+                }));
+        dispatcher.register(command);
+    }
+}
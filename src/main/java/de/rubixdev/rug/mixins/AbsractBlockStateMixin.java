@@ -1,8 +1,10 @@
 package de.rubixdev.rug.mixins;
 
 import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.RandomTickFilter;
 import net.minecraft.block.AbstractBlock;
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.BlockView;
@@ -10,6 +12,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(AbstractBlock.AbstractBlockState.class)
@@ -26,4 +29,14 @@ public abstract class AbsractBlockStateMixin {
             cir.setReturnValue((float) RugSettings.kelpBlockHardness);
         }
     }
+
+    @Redirect(
+            method = "hasRandomTicks",
+            at =
+                    @At(
+                            value = "INVOKE",
+                            target = "Lnet/minecraft/block/Block;hasRandomTicks(Lnet/minecraft/block/BlockState;)Z"))
+    private boolean filterRandomTicks(Block block, BlockState state) {
+        return !RandomTickFilter.isSuppressed(block) && block.hasRandomTicks(state);
+    }
 }
@@ -1,31 +1,76 @@
 package de.rubixdev.rug.mixins;
 
-import de.rubixdev.rug.util.FluidHelper;
+import de.rubixdev.rug.util.BlockHooks;
+import de.rubixdev.rug.util.PistonStickiness;
+import de.rubixdev.rug.util.RandomTickFilter;
 import net.minecraft.block.AbstractBlock;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.WorldAccess;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(AbstractBlock.class)
-public class AbstractBlockMixin {
+public class AbstractBlockMixin implements BlockHooks.Holder, PistonStickiness.Holder, RandomTickFilter.Holder {
+    @Unique
+    @Nullable
+    private BlockHooks hooks = null;
+
+    @Unique
+    private byte stickiness = 0;
+
+    @Unique
+    private volatile boolean randomTickSuppressed = false;
+
+    @Nullable
+    @Override
+    public BlockHooks rug$getHooks() {
+        return hooks;
+    }
+
+    @Override
+    public void rug$setHooks(BlockHooks hooks) {
+        this.hooks = hooks;
+    }
+
+    @Override
+    public byte rug$getStickiness() {
+        return stickiness;
+    }
+
+    @Override
+    public void rug$setStickiness(byte stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    public boolean rug$isRandomTickSuppressed() {
+        return randomTickSuppressed;
+    }
+
+    @Override
+    public void rug$setRandomTickSuppressed(boolean suppressed) {
+        this.randomTickSuppressed = suppressed;
+    }
+
     @Inject(method = "getStateForNeighborUpdate", at = @At("HEAD"), cancellable = true)
-    private void convertBasalt(
+    private void runNeighborUpdateHook(
             BlockState state,
             Direction direction,
-            BlockState newState,
+            BlockState neighborState,
             WorldAccess world,
             BlockPos pos,
-            BlockPos posFrom,
+            BlockPos neighborPos,
             CallbackInfoReturnable<BlockState> cir) {
-        if (state.isOf(Blocks.BASALT) && FluidHelper.shouldConvertToBlackstone(world, pos)) {
-            cir.setReturnValue(Blocks.BLACKSTONE.getDefaultState());
-            FluidHelper.playFizzleSound(world, pos);
-        }
+        if (hooks == null) return;
+        BlockHooks.NeighborUpdateHook hook = BlockHooks.getNeighborUpdateHook(state.getBlock());
+        if (hook == null) return;
+        BlockState newState = hook.getStateForNeighborUpdate(state, direction, neighborState, world, pos, neighborPos);
+        if (newState != null) cir.setReturnValue(newState);
     }
 }
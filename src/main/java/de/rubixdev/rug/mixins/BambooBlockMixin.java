@@ -1,6 +1,7 @@
 package de.rubixdev.rug.mixins;
 
 import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.ZeroTickGrowth;
 import net.minecraft.block.BambooBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -8,7 +9,6 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.random.Random;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
@@ -20,14 +20,10 @@ public abstract class BambooBlockMixin extends Block {
         super(settings);
     }
 
-    @SuppressWarnings("deprecation")
-    @Shadow
-    public abstract void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random);
-
     @Inject(method = "scheduledTick", at = @At("TAIL"))
     private void onScheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random, CallbackInfo ci) {
         if (state.canPlaceAt(world, pos) && RugSettings.zeroTickPlants) {
-            this.randomTick(state, world, pos, random);
+            ZeroTickGrowth.forceGrowth(state, world, pos, random);
         }
     }
 }
@@ -1,20 +1,24 @@
 package de.rubixdev.rug.mixins;
 
-import com.google.common.collect.Lists;
 import de.rubixdev.rug.RugSettings;
-import java.util.List;
+import de.rubixdev.rug.util.CrushingRecipes;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.FallingBlockEntity;
-import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldEvents;
+import net.minecraft.world.event.GameEvent;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
@@ -25,9 +29,13 @@ public abstract class FallingBlockEntityMixin extends Entity {
     @Shadow
     private BlockState block;
 
-    private int frostedIceCount;
-    private int iceCount;
-    private int packedIceCount;
+    @Unique
+    @Nullable
+    private Reference2IntMap<CrushingRecipes.CrushingRecipe> crushCounts = null;
+
+    // set after a batched crush, so that landing on its result doesn't crush again
+    @Unique
+    private boolean skipCrushing = false;
 
     public FallingBlockEntityMixin(EntityType<?> type, World world) {
         super(type, world);
@@ -39,132 +47,84 @@ public abstract class FallingBlockEntityMixin extends Entity {
             locals = LocalCapture.CAPTURE_FAILHARD,
             cancellable = true)
     private void onTick(CallbackInfo ci, Block block, BlockPos pos) {
+        if (skipCrushing) {
+            skipCrushing = false;
+            return;
+        }
+
+        World world = getWorld();
         BlockPos posBelow = this.getBlockPos().down();
-        BlockState blockStateBelow = getWorld().getBlockState(posBelow);
-        Block blockBelow = blockStateBelow.getBlock();
+        BlockState blockStateBelow = world.getBlockState(posBelow);
 
-        if (this.block.isIn(BlockTags.ANVIL)) {
-            if (blockBelow == Blocks.FROSTED_ICE && RugSettings.anvilledIce > 0) {
-                if (++frostedIceCount < RugSettings.anvilledIce) {
-                    getWorld().breakBlock(posBelow, false);
-                    setOnGround(false);
-                    ci.cancel();
-                } else {
-                    getWorld().breakBlock(posBelow, false);
-                    getWorld().setBlockState(posBelow, Blocks.ICE.getDefaultState(), 3);
-                }
-            } else if (blockBelow == Blocks.ICE && RugSettings.anvilledPackedIce > 0) {
-                if (++iceCount < RugSettings.anvilledPackedIce) {
-                    getWorld().breakBlock(posBelow, false);
-                    setOnGround(false);
-                    ci.cancel();
-                } else {
-                    getWorld().breakBlock(posBelow, false);
-                    getWorld().setBlockState(posBelow, Blocks.PACKED_ICE.getDefaultState(), 3);
-                }
-            } else if (blockBelow == Blocks.PACKED_ICE && RugSettings.anvilledBlueIce > 0) {
-                if (++packedIceCount < RugSettings.anvilledBlueIce) {
-                    getWorld().breakBlock(posBelow, false);
-                    setOnGround(false);
-                    ci.cancel();
-                } else {
-                    getWorld().breakBlock(posBelow, false);
-                    getWorld().setBlockState(posBelow, Blocks.BLUE_ICE.getDefaultState(), 3);
-                }
-            } else if (blockBelow == Blocks.COBBLESTONE && RugSettings.cobbleCrushing) {
-                getWorld().breakBlock(posBelow, false);
-                getWorld().setBlockState(posBelow, Blocks.GRAVEL.getDefaultState(), 3);
-            } else if (blockBelow == Blocks.GRAVEL && RugSettings.gravelCrushing) {
-                getWorld().breakBlock(posBelow, false);
-                getWorld().setBlockState(posBelow, Blocks.SAND.getDefaultState(), 3);
-            }
-        } else if (this.block.isOf(Blocks.DRAGON_EGG)) {
-            String rugSetting = RugSettings.dragonEggConvertsCobbleToEndstone;
-            if (blockBelow == Blocks.COBBLESTONE && (rugSetting.equals("both") || rugSetting.equals("on_landing"))) {
-                getWorld().breakBlock(posBelow, false);
-                getWorld().setBlockState(posBelow, Blocks.END_STONE.getDefaultState(), 3);
-            }
-        } else if ((this.block.isOf(Blocks.SAND) && blockStateBelow.isOf(Blocks.GRAVEL))
-                || (this.block.isOf(Blocks.GRAVEL) && blockStateBelow.isOf(Blocks.SAND))) {
-            BlockState concreteBlock = getWorld().getBlockState(posBelow.down());
-            if (isConcrete(concreteBlock) && RugSettings.concreteMixing) {
-                getWorld()
-                        .syncWorldEvent(
-                                WorldEvents.BLOCK_BROKEN,
-                                posBelow,
-                                Block.getRawIdFromState(Blocks.SAND.getDefaultState()));
-                getWorld()
-                        .syncWorldEvent(
-                                WorldEvents.BLOCK_BROKEN,
-                                posBelow,
-                                Block.getRawIdFromState(Blocks.GRAVEL.getDefaultState()));
+        CrushingRecipes.CrushingRecipe recipe = CrushingRecipes.find(this.block, blockStateBelow, world, posBelow);
+        if (recipe == null) return;
 
-                Block powderBlock = getCorrespondingPowder(concreteBlock);
-                assert powderBlock != null;
-                getWorld().setBlockState(posBelow, powderBlock.getDefaultState(), 3);
-                this.discard();
-                ci.cancel();
-            }
+        if (recipe.consumesFalling()) {
+            world.syncWorldEvent(WorldEvents.BLOCK_BROKEN, posBelow, Block.getRawIdFromState(this.block));
+            world.syncWorldEvent(WorldEvents.BLOCK_BROKEN, posBelow, Block.getRawIdFromState(blockStateBelow));
+            world.setBlockState(posBelow, recipe.result().getDefaultState(), 3);
+            this.discard();
+            ci.cancel();
+            return;
         }
-    }
 
-    private boolean isConcrete(BlockState blockState) {
-        List<BlockState> concreteBlocks = Lists.newArrayList(
-                Blocks.WHITE_CONCRETE.getDefaultState(),
-                Blocks.ORANGE_CONCRETE.getDefaultState(),
-                Blocks.MAGENTA_CONCRETE.getDefaultState(),
-                Blocks.LIGHT_BLUE_CONCRETE.getDefaultState(),
-                Blocks.YELLOW_CONCRETE.getDefaultState(),
-                Blocks.LIME_CONCRETE.getDefaultState(),
-                Blocks.PINK_CONCRETE.getDefaultState(),
-                Blocks.GRAY_CONCRETE.getDefaultState(),
-                Blocks.LIGHT_GRAY_CONCRETE.getDefaultState(),
-                Blocks.CYAN_CONCRETE.getDefaultState(),
-                Blocks.PURPLE_CONCRETE.getDefaultState(),
-                Blocks.BLUE_CONCRETE.getDefaultState(),
-                Blocks.BROWN_CONCRETE.getDefaultState(),
-                Blocks.GREEN_CONCRETE.getDefaultState(),
-                Blocks.RED_CONCRETE.getDefaultState(),
-                Blocks.BLACK_CONCRETE.getDefaultState());
+        if (RugSettings.batchedAnvilCrushing && recipe.getRequiredHits() > 1) {
+            crushColumn(world, posBelow, recipe, ci);
+            return;
+        }
 
-        return concreteBlocks.contains(blockState);
+        int count = incrementCrushCount(recipe);
+        world.breakBlock(posBelow, false);
+        if (count < recipe.getRequiredHits()) {
+            setOnGround(false);
+            ci.cancel();
+        } else {
+            world.setBlockState(posBelow, recipe.result().getDefaultState(), 3);
+        }
     }
 
-    private Block getCorrespondingPowder(BlockState concreteBlock) {
-        if (concreteBlock.isOf(Blocks.WHITE_CONCRETE)) {
-            return Blocks.WHITE_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.ORANGE_CONCRETE)) {
-            return Blocks.ORANGE_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.MAGENTA_CONCRETE)) {
-            return Blocks.MAGENTA_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.LIGHT_BLUE_CONCRETE)) {
-            return Blocks.LIGHT_BLUE_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.YELLOW_CONCRETE)) {
-            return Blocks.YELLOW_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.LIME_CONCRETE)) {
-            return Blocks.LIME_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.PINK_CONCRETE)) {
-            return Blocks.PINK_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.GRAY_CONCRETE)) {
-            return Blocks.GRAY_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.LIGHT_GRAY_CONCRETE)) {
-            return Blocks.LIGHT_GRAY_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.CYAN_CONCRETE)) {
-            return Blocks.CYAN_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.PURPLE_CONCRETE)) {
-            return Blocks.PURPLE_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.BLUE_CONCRETE)) {
-            return Blocks.BLUE_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.BROWN_CONCRETE)) {
-            return Blocks.BROWN_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.GREEN_CONCRETE)) {
-            return Blocks.GREEN_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.RED_CONCRETE)) {
-            return Blocks.RED_CONCRETE_POWDER;
-        } else if (concreteBlock.isOf(Blocks.BLACK_CONCRETE)) {
-            return Blocks.BLACK_CONCRETE_POWDER;
-        } else {
-            return null;
+    /**
+     * Crushes blocks downwards from {@code targetPos} until one is converted or there is nothing left to crush, and
+     * moves this entity on top of it. The neighbors of the removed blocks are only updated once at the end.
+     */
+    @Unique
+    private void crushColumn(World world, BlockPos targetPos, CrushingRecipes.CrushingRecipe recipe, CallbackInfo ci) {
+        BlockPos.Mutable pos = targetPos.mutableCopy();
+        int removed = 0;
+        boolean converted = false;
+        while (true) {
+            int count = incrementCrushCount(recipe);
+            world.syncWorldEvent(WorldEvents.BLOCK_BROKEN, pos, Block.getRawIdFromState(world.getBlockState(pos)));
+            if (count >= recipe.getRequiredHits()) {
+                world.setBlockState(pos, recipe.result().getDefaultState(), Block.NOTIFY_ALL);
+                converted = true;
+                break;
+            }
+            world.setBlockState(pos, Blocks.AIR.getDefaultState(), Block.NOTIFY_LISTENERS);
+            world.emitGameEvent(this, GameEvent.BLOCK_DESTROY, pos);
+            removed++;
+
+            pos.move(Direction.DOWN);
+            if (world.isOutOfHeightLimit(pos)) break;
+            recipe = CrushingRecipes.find(this.block, world.getBlockState(pos), world, pos);
+            if (recipe == null || recipe.consumesFalling()) break;
         }
+        if (removed == 0) return;
+
+        for (int i = 1; i <= removed; i++) {
+            world.updateNeighbors(pos.up(i), Blocks.AIR);
+        }
+        skipCrushing = converted;
+        setPosition(getX(), pos.getY() + 1, getZ());
+        setOnGround(false);
+        ci.cancel();
+    }
+
+    @Unique
+    private int incrementCrushCount(CrushingRecipes.CrushingRecipe recipe) {
+        if (crushCounts == null) crushCounts = new Reference2IntOpenHashMap<>();
+        int count = crushCounts.getInt(recipe) + 1;
+        crushCounts.put(recipe, count);
+        return count;
     }
 }
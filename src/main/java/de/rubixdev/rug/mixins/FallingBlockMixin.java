@@ -1,10 +1,9 @@
 package de.rubixdev.rug.mixins;
 
 import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.TallPlantHelper;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.block.FallingBlock;
-import net.minecraft.registry.tag.BlockTags;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -14,14 +13,8 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class FallingBlockMixin {
     @Inject(method = "canFallThrough", at = @At("HEAD"), cancellable = true)
     private static void onCanFallThrough(BlockState state, CallbackInfoReturnable<Boolean> cir) {
-        if (RugSettings.tallPlantNoUpdate && isTallPlant(state)) {
+        if (RugSettings.tallPlantNoUpdate && TallPlantHelper.isTallPlant(state)) {
             cir.setReturnValue(false);
         }
     }
-
-    private static boolean isTallPlant(BlockState blockState) {
-        return blockState.isIn(BlockTags.TALL_FLOWERS)
-                || blockState.isOf(Blocks.TALL_GRASS)
-                || blockState.isOf(Blocks.LARGE_FERN);
-    }
 }
@@ -3,7 +3,6 @@ package de.rubixdev.rug.mixins;
 import carpet.CarpetServer;
 import de.rubixdev.rug.RugServer;
 import de.rubixdev.rug.util.Storage;
-import java.util.Set;
 import net.minecraft.resource.DataConfiguration;
 import net.minecraft.resource.DataPackSettings;
 import net.minecraft.resource.ResourcePackManager;
@@ -14,7 +13,6 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
-import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 
 @Mixin(MinecraftServer.class)
 public class MinecraftServerMixin {
@@ -32,24 +30,4 @@ public class MinecraftServerMixin {
         // initialize `RugData` datapack
         RugServer.initializeRugData(Storage.session.getDirectory(WorldSavePath.DATAPACKS));
     }
-
-    @Inject(
-            method = "loadDataPacks",
-            at =
-                    @At(
-                            value = "INVOKE",
-                            target =
-                                    "Lnet/minecraft/resource/ResourcePackManager;setEnabledProfiles(Ljava/util/Collection;)V",
-                            ordinal = 1),
-            locals = LocalCapture.CAPTURE_FAILSOFT)
-    private static void ensureEnabled(
-            ResourcePackManager resourcePackManager,
-            DataPackSettings dataPackSettings,
-            boolean safeMode,
-            FeatureSet enabledFeatures,
-            CallbackInfoReturnable<DataConfiguration> cir,
-            Set<String> set) {
-        // always include `RugData` in the enabled datapacks set
-        set.add("file/RugData");
-    }
 }
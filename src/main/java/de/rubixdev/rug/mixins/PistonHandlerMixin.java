@@ -1,44 +1,38 @@
 package de.rubixdev.rug.mixins;
 
-import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.BlockPosList;
+import de.rubixdev.rug.util.PistonStickiness;
+import java.util.List;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.block.piston.PistonHandler;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(PistonHandler.class)
 public abstract class PistonHandlerMixin {
     @Shadow
-    private static boolean isBlockSticky(BlockState state) {
-        return false;
+    @Final
+    @Mutable
+    private List<BlockPos> movedBlocks;
+
+    @Inject(method = "<init>", at = @At("TAIL"))
+    private void useBlockPosList(World world, BlockPos pos, Direction dir, boolean retracted, CallbackInfo ci) {
+        // the structure resolver calls contains and indexOf for every block it visits
+        this.movedBlocks = new BlockPosList();
     }
 
     @Inject(method = "isAdjacentBlockStuck", at = @At("HEAD"), cancellable = true)
     private static void onIsAdjacentBlockStuck(
             BlockState state, BlockState adjacentState, CallbackInfoReturnable<Boolean> cir) {
-        switch (RugSettings.honeyCombStickiness) {
-            case "honey" -> {
-                if ((adjacentState.isOf(Blocks.HONEYCOMB_BLOCK) && state.isOf(Blocks.SLIME_BLOCK))
-                        || (state.isOf(Blocks.HONEYCOMB_BLOCK) && adjacentState.isOf(Blocks.SLIME_BLOCK))) {
-                    cir.setReturnValue(false);
-                }
-            }
-            case "slime" -> {
-                if ((adjacentState.isOf(Blocks.HONEYCOMB_BLOCK) && state.isOf(Blocks.HONEY_BLOCK))
-                        || (state.isOf(Blocks.HONEYCOMB_BLOCK) && adjacentState.isOf(Blocks.HONEY_BLOCK))) {
-                    cir.setReturnValue(false);
-                }
-            }
-            case "none" -> {
-                if ((adjacentState.isOf(Blocks.HONEYCOMB_BLOCK) && isBlockSticky(state))
-                        || (state.isOf(Blocks.HONEYCOMB_BLOCK) && isBlockSticky(adjacentState))) {
-                    cir.setReturnValue(false);
-                }
-            }
-        }
+        if (PistonStickiness.isUnstuck(state, adjacentState)) cir.setReturnValue(false);
     }
 }
@@ -0,0 +1,33 @@
+package de.rubixdev.rug.mixins;
+
+import com.google.common.collect.ImmutableSet;
+import de.rubixdev.rug.RugServer;
+import java.util.Set;
+import net.minecraft.resource.ResourcePackManager;
+import net.minecraft.resource.ResourcePackProvider;
+import net.minecraft.resource.VanillaDataPackProvider;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ResourcePackManager.class)
+public class ResourcePackManagerMixin {
+    @Shadow
+    @Final
+    @Mutable
+    private Set<ResourcePackProvider> providers;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void addRugDataPack(ResourcePackProvider[] resourcePackProviders, CallbackInfo ci) {
+        // only add `RugData` to the datapack managers of servers, not to the client's resource pack manager
+        if (providers.stream().noneMatch(provider -> provider instanceof VanillaDataPackProvider)) return;
+        providers = ImmutableSet.<ResourcePackProvider>builder()
+                .addAll(providers)
+                .add(RugServer.getDataPack())
+                .build();
+    }
+}
@@ -1,11 +1,8 @@
 package de.rubixdev.rug.mixins;
 
-import com.google.common.collect.Lists;
-import de.rubixdev.rug.RugSettings;
-import java.util.List;
+import de.rubixdev.rug.util.FortressSpawnHelper;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.world.SpawnHelper;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -17,20 +14,6 @@ public class SpawnHelperMixin {
             method = "shouldUseNetherFortressSpawns",
             at = @At(value = "INVOKE", target = "Lnet/minecraft/block/BlockState;isOf(Lnet/minecraft/block/Block;)Z"))
     private static boolean allowMoreSpawnableFortressBlocks(BlockState floorBlock, Block netherBricks) {
-        if (RugSettings.moreFortressSpawningBlocks.equals("all")) return true;
-
-        List<Block> allowedBlocks = Lists.newArrayList(
-                netherBricks,
-                Blocks.NETHERRACK,
-                Blocks.SOUL_SAND,
-                Blocks.SOUL_SOIL,
-                Blocks.PACKED_ICE,
-                Blocks.BLUE_ICE,
-                Blocks.GRAVEL,
-                Blocks.MAGMA_BLOCK,
-                Blocks.RED_NETHER_BRICKS);
-
-        return RugSettings.moreFortressSpawningBlocks.equals("more") && allowedBlocks.contains(floorBlock.getBlock())
-                || floorBlock.isOf(netherBricks);
+        return FortressSpawnHelper.isValidFloor(floorBlock);
     }
 }
@@ -0,0 +1,55 @@
+package de.rubixdev.rug.mixins;
+
+import de.rubixdev.rug.RugSettings;
+import de.rubixdev.rug.util.TallPlantHelper;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.TallPlantBlock;
+import net.minecraft.block.enums.DoubleBlockHalf;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.WorldAccess;
+import net.minecraft.world.WorldEvents;
+import net.minecraft.world.event.GameEvent;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(TallPlantBlock.class)
+public class TallPlantBlockMixin {
+    /**
+     * When the lower half of a tall plant is gone, vanilla replaces the upper half with air through
+     * {@link net.minecraft.world.World#breakBlock}, which updates all neighbors. With {@code tallPlantNoUpdate} the
+     * upper half is broken here instead, without any neighbor updates. The returned state then already matches the
+     * world, so vanilla has nothing left to do.
+     */
+    @Inject(method = "getStateForNeighborUpdate", at = @At("HEAD"), cancellable = true)
+    private void breakWithoutUpdates(
+            BlockState state,
+            Direction direction,
+            BlockState neighborState,
+            WorldAccess world,
+            BlockPos pos,
+            BlockPos neighborPos,
+            CallbackInfoReturnable<BlockState> cir) {
+        // clients and world generation leave the breaking to the server
+        if (!RugSettings.tallPlantNoUpdate
+                || !(world instanceof ServerWorld)
+                || direction != Direction.DOWN
+                || state.get(TallPlantBlock.HALF) != DoubleBlockHalf.UPPER
+                || (neighborState.isOf(state.getBlock())
+                        && neighborState.get(TallPlantBlock.HALF) == DoubleBlockHalf.LOWER)
+                || !TallPlantHelper.isTallPlant(state)) {
+            return;
+        }
+
+        BlockState newState = world.getFluidState(pos).getBlockState();
+        world.syncWorldEvent(WorldEvents.BLOCK_BROKEN, pos, Block.getRawIdFromState(state));
+        Block.dropStacks(state, world, pos, null);
+        world.setBlockState(pos, newState, Block.NOTIFY_LISTENERS | Block.FORCE_STATE);
+        world.emitGameEvent(GameEvent.BLOCK_DESTROY, pos, GameEvent.Emitter.of(state));
+        cir.setReturnValue(newState);
+    }
+}
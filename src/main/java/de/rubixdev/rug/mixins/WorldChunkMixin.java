@@ -0,0 +1,23 @@
+package de.rubixdev.rug.mixins;
+
+import de.rubixdev.rug.util.RandomTickFilter;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.ProtoChunk;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(WorldChunk.class)
+public class WorldChunkMixin {
+    @Inject(
+            method =
+                    "<init>(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/world/chunk/ProtoChunk;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;)V",
+            at = @At("RETURN"))
+    private void recountRandomTicks(
+            ServerWorld world, ProtoChunk protoChunk, @Nullable WorldChunk.EntityLoader entityLoader, CallbackInfo ci) {
+        RandomTickFilter.onPromoted((WorldChunk) (Object) this);
+    }
+}
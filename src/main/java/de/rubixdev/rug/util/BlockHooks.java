@@ -0,0 +1,115 @@
+package de.rubixdev.rug.util;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldAccess;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Attaches Rug's behaviour to specific blocks. The hooks are stored on the {@link Block} instances themselves, so the
+ * mixins in hot paths like {@code World.setBlockState} only have to do a single field read for every other block, no
+ * matter how many rules use this.
+ */
+public class BlockHooks {
+    @Nullable
+    private PlacementHook placementHook = null;
+
+    @Nullable
+    private NeighborUpdateHook neighborUpdateHook = null;
+
+    /**
+     * Registers a hook which runs before a state of the given block is set in the world.
+     */
+    public static void onPlacement(Block block, PlacementHook hook) {
+        BlockHooks hooks = getOrCreate(block);
+        PlacementHook previous = hooks.placementHook;
+        if (previous == null) {
+            hooks.placementHook = hook;
+            return;
+        }
+        hooks.placementHook = (world, pos, state) -> {
+            BlockState replacement = previous.replace(world, pos, state);
+            return replacement != null ? replacement : hook.replace(world, pos, state);
+        };
+    }
+
+    /**
+     * Registers a hook which runs before the given block reacts to a neighbor update.
+     */
+    public static void onNeighborUpdate(Block block, NeighborUpdateHook hook) {
+        BlockHooks hooks = getOrCreate(block);
+        NeighborUpdateHook previous = hooks.neighborUpdateHook;
+        if (previous == null) {
+            hooks.neighborUpdateHook = hook;
+            return;
+        }
+        hooks.neighborUpdateHook = (state, direction, neighborState, world, pos, neighborPos) -> {
+            BlockState newState =
+                    previous.getStateForNeighborUpdate(state, direction, neighborState, world, pos, neighborPos);
+            return newState != null
+                    ? newState
+                    : hook.getStateForNeighborUpdate(state, direction, neighborState, world, pos, neighborPos);
+        };
+    }
+
+    @Nullable
+    public static PlacementHook getPlacementHook(Block block) {
+        BlockHooks hooks = ((Holder) block).rug$getHooks();
+        return hooks == null ? null : hooks.placementHook;
+    }
+
+    @Nullable
+    public static NeighborUpdateHook getNeighborUpdateHook(Block block) {
+        BlockHooks hooks = ((Holder) block).rug$getHooks();
+        return hooks == null ? null : hooks.neighborUpdateHook;
+    }
+
+    private static BlockHooks getOrCreate(Block block) {
+        Holder holder = (Holder) block;
+        BlockHooks hooks = holder.rug$getHooks();
+        if (hooks == null) {
+            hooks = new BlockHooks();
+            holder.rug$setHooks(hooks);
+        }
+        return hooks;
+    }
+
+    @FunctionalInterface
+    public interface PlacementHook {
+        /**
+         * Returns the state to set instead of {@code state}, or {@code null} to set it unchanged. Returning the state
+         * which is already in the world cancels the change. The returned state must not be of a block with a placement
+         * hook itself.
+         */
+        @Nullable
+        BlockState replace(World world, BlockPos pos, BlockState state);
+    }
+
+    @FunctionalInterface
+    public interface NeighborUpdateHook {
+        /**
+         * Returns the new state of the block, or {@code null} to let the block handle the update itself.
+         */
+        @Nullable
+        BlockState getStateForNeighborUpdate(
+                BlockState state,
+                Direction direction,
+                BlockState neighborState,
+                WorldAccess world,
+                BlockPos pos,
+                BlockPos neighborPos);
+    }
+
+    /**
+     * Implemented by every {@link Block} through {@code AbstractBlockMixin}.
+     */
+    public interface Holder {
+        @Nullable
+        BlockHooks rug$getHooks();
+
+        void rug$setHooks(BlockHooks hooks);
+    }
+}
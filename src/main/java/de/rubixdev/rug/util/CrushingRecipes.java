@@ -0,0 +1,268 @@
+package de.rubixdev.rug.util;
+
+import carpet.CarpetServer;
+import carpet.api.settings.CarpetRule;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import de.rubixdev.rug.RugServer;
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceFinder;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.InvalidIdentifierException;
+import net.minecraft.util.JsonHelper;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Conversions of blocks that a falling block lands on, loaded from the {@code rug_crushing} folder of datapacks.
+ *
+ * <p>A recipe file looks like this:
+ *
+ * <pre>{@code
+ * {
+ *   "falling": "#minecraft:anvil",      // block or block tag of the falling block
+ *   "target": "minecraft:frosted_ice",  // block or block tag it lands on
+ *   "below": "minecraft:white_concrete", // optional, block that has to be below the target
+ *   "result": "minecraft:ice",          // what the target turns into
+ *   "hits": 1,                          // optional, how many targets have to be crushed for one result
+ *   "rule": "anvilledIce",              // optional, Rug rule that enables the recipe, see below
+ *   "rule_values": ["on_landing"],      // optional, values of a string rule that enable the recipe
+ *   "consume_falling": false,           // optional, whether the falling block is used up
+ *   "symmetric": false                  // optional, whether falling and target may be swapped
+ * }
+ * }</pre>
+ *
+ * A boolean rule enables the recipe while it is {@code true}. An integer rule enables it while it is above zero and
+ * replaces {@code hits}. A string rule enables it while it has one of the {@code rule_values}.
+ *
+ * <p>After every reload the recipes are compiled into identity maps keyed by the falling and the target block, once
+ * the tags are bound, so that looking up a recipe on landing is just a few map lookups.
+ */
+public class CrushingRecipes {
+    private static final ResourceFinder FINDER = ResourceFinder.json("rug_crushing");
+
+    private static List<RawRecipe> rawRecipes = List.of();
+
+    @Nullable
+    private static volatile Map<Block, Map<Block, Candidates>> compiled = null;
+
+    public static void register() {
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA)
+                .registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+                    @Override
+                    public Identifier getFabricId() {
+                        return new Identifier("rug", "crushing_recipes");
+                    }
+
+                    @Override
+                    public void reload(ResourceManager manager) {
+                        load(manager);
+                    }
+                });
+        // tags are only bound after all reload listeners ran, so compile again once the reload is done
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> compiled = null);
+    }
+
+    /**
+     * Returns the enabled recipe for the falling block landing on {@code targetPos}, or {@code null} if there is none.
+     */
+    @Nullable
+    public static CrushingRecipe find(BlockState falling, BlockState target, BlockView world, BlockPos targetPos) {
+        Map<Block, Map<Block, Candidates>> recipes = compiled;
+        if (recipes == null) recipes = compile();
+
+        Map<Block, Candidates> byTarget = recipes.get(falling.getBlock());
+        if (byTarget == null) return null;
+        Candidates candidates = byTarget.get(target.getBlock());
+        if (candidates == null) return null;
+
+        if (!candidates.byBelow.isEmpty()) {
+            CrushingRecipe recipe = candidates.byBelow.get(world.getBlockState(targetPos.down()).getBlock());
+            if (recipe != null && recipe.getRequiredHits() > 0) return recipe;
+        }
+        for (CrushingRecipe recipe : candidates.any) {
+            if (recipe.getRequiredHits() > 0) return recipe;
+        }
+        return null;
+    }
+
+    private static void load(ResourceManager manager) {
+        Map<Identifier, JsonObject> jsons = Maps.newHashMap();
+        for (Map.Entry<Identifier, Resource> entry : FINDER.findResources(manager).entrySet()) {
+            Identifier id = FINDER.toResourceId(entry.getKey());
+            try (Reader reader = entry.getValue().getReader()) {
+                jsons.put(id, JsonHelper.deserialize(reader));
+            } catch (Exception e) {
+                RugServer.LOGGER.error("Couldn't read crushing recipe " + id, e);
+            }
+        }
+        apply(jsons);
+    }
+
+    /**
+     * Replaces all recipes with the given ones. The recipes are compiled on the next lookup.
+     */
+    public static void apply(Map<Identifier, JsonObject> jsons) {
+        List<RawRecipe> recipes = Lists.newArrayList();
+        jsons.forEach((id, json) -> {
+            try {
+                recipes.add(RawRecipe.parse(id, json));
+            } catch (JsonParseException | InvalidIdentifierException e) {
+                RugServer.LOGGER.error("Couldn't load crushing recipe " + id + ": " + e.getMessage());
+            }
+        });
+        rawRecipes = recipes;
+        compiled = null;
+        RugServer.LOGGER.info("Loaded " + recipes.size() + " crushing recipes");
+    }
+
+    private static synchronized Map<Block, Map<Block, Candidates>> compile() {
+        Map<Block, Map<Block, Candidates>> recipes = compiled;
+        if (recipes != null) return recipes;
+
+        recipes = Maps.newIdentityHashMap();
+        for (RawRecipe raw : rawRecipes) {
+            CarpetRule<?> rule = null;
+            if (raw.rule != null) {
+                rule = CarpetServer.settingsManager.getCarpetRule(raw.rule);
+                if (rule == null) {
+                    RugServer.LOGGER.warn("Crushing recipe " + raw.id + " uses unknown rule " + raw.rule);
+                    continue;
+                }
+            }
+            CrushingRecipe recipe =
+                    new CrushingRecipe(raw.id, raw.result, raw.hits, rule, raw.ruleValues, raw.consumeFalling);
+
+            List<Block> fallingBlocks = resolve(raw.falling);
+            List<Block> targetBlocks = resolve(raw.target);
+            addAll(recipes, fallingBlocks, targetBlocks, raw.below, recipe);
+            if (raw.symmetric) addAll(recipes, targetBlocks, fallingBlocks, raw.below, recipe);
+        }
+        compiled = recipes;
+        return recipes;
+    }
+
+    private static void addAll(
+            Map<Block, Map<Block, Candidates>> recipes,
+            List<Block> fallingBlocks,
+            List<Block> targetBlocks,
+            @Nullable Block below,
+            CrushingRecipe recipe) {
+        for (Block falling : fallingBlocks) {
+            Map<Block, Candidates> byTarget = recipes.computeIfAbsent(falling, block -> Maps.newIdentityHashMap());
+            for (Block target : targetBlocks) {
+                Candidates candidates = byTarget.computeIfAbsent(target, block -> new Candidates());
+                if (below == null) {
+                    candidates.any.add(recipe);
+                } else {
+                    candidates.byBelow.putIfAbsent(below, recipe);
+                }
+            }
+        }
+    }
+
+    private static List<Block> resolve(BlockOrTag blockOrTag) {
+        if (blockOrTag.block != null) return List.of(blockOrTag.block);
+        List<Block> blocks = Lists.newArrayList();
+        for (RegistryEntry<Block> entry : Registries.BLOCK.iterateEntries(blockOrTag.tag)) blocks.add(entry.value());
+        return blocks;
+    }
+
+    private static class Candidates {
+        private final Map<Block, CrushingRecipe> byBelow = Maps.newIdentityHashMap();
+        private final List<CrushingRecipe> any = Lists.newArrayList();
+    }
+
+    private record BlockOrTag(@Nullable Block block, @Nullable TagKey<Block> tag) {
+        private static BlockOrTag parse(String string) {
+            if (string.startsWith("#")) {
+                return new BlockOrTag(null, TagKey.of(RegistryKeys.BLOCK, new Identifier(string.substring(1))));
+            }
+            return new BlockOrTag(parseBlock(string), null);
+        }
+    }
+
+    private static Block parseBlock(String string) {
+        return Registries.BLOCK
+                .getOrEmpty(new Identifier(string))
+                .orElseThrow(() -> new JsonSyntaxException("Unknown block '" + string + "'"));
+    }
+
+    private record RawRecipe(
+            Identifier id,
+            BlockOrTag falling,
+            BlockOrTag target,
+            @Nullable Block below,
+            Block result,
+            int hits,
+            @Nullable String rule,
+            Set<String> ruleValues,
+            boolean consumeFalling,
+            boolean symmetric) {
+        private static RawRecipe parse(Identifier id, JsonObject json) {
+            Set<String> ruleValues = Set.of();
+            if (json.has("rule_values")) {
+                List<String> values = Lists.newArrayList();
+                for (JsonElement element : JsonHelper.getArray(json, "rule_values")) {
+                    values.add(JsonHelper.asString(element, "rule value"));
+                }
+                ruleValues = Set.copyOf(values);
+            }
+            int hits = JsonHelper.getInt(json, "hits", 1);
+            if (hits < 1) throw new JsonParseException("'hits' must be at least 1");
+            return new RawRecipe(
+                    id,
+                    BlockOrTag.parse(JsonHelper.getString(json, "falling")),
+                    BlockOrTag.parse(JsonHelper.getString(json, "target")),
+                    json.has("below") ? parseBlock(JsonHelper.getString(json, "below")) : null,
+                    parseBlock(JsonHelper.getString(json, "result")),
+                    hits,
+                    JsonHelper.getString(json, "rule", null),
+                    ruleValues,
+                    JsonHelper.getBoolean(json, "consume_falling", false),
+                    JsonHelper.getBoolean(json, "symmetric", false));
+        }
+    }
+
+    /**
+     * A compiled crushing recipe.
+     */
+    public record CrushingRecipe(
+            Identifier id,
+            Block result,
+            int hits,
+            @Nullable CarpetRule<?> rule,
+            Set<String> ruleValues,
+            boolean consumesFalling) {
+        /**
+         * Returns how many targets have to be crushed for one result, or zero if the recipe is currently disabled.
+         */
+        public int getRequiredHits() {
+            if (rule == null) return hits;
+            Object value = rule.value();
+            if (value instanceof Boolean enabled) return enabled ? hits : 0;
+            if (value instanceof Integer ruleHits) return Math.max(ruleHits, 0);
+            return ruleValues.contains(value.toString()) ? hits : 0;
+        }
+    }
+}
@@ -1,72 +1,93 @@
 package de.rubixdev.rug.util;
 
 import de.rubixdev.rug.RugSettings;
-import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
-import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.registry.tag.FluidTags;
-import net.minecraft.registry.tag.TagKey;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.BlockView;
+import net.minecraft.world.World;
 import net.minecraft.world.WorldAccess;
+import org.jetbrains.annotations.Nullable;
 
-@SuppressWarnings("SameParameterValue")
 public class FluidHelper {
+    private static final int MAGMA_BLOCK = 1;
+    private static final int WATER = 1 << 1;
+    private static final int STILL_LAVA = 1 << 2;
+    private static final int FLOWING_LAVA = 1 << 3;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final ThreadLocal<BlockPos.Mutable> MUTABLE_POS = ThreadLocal.withInitial(BlockPos.Mutable::new);
+
     public static void playFizzleSound(WorldAccess world, BlockPos pos) {
         world.syncWorldEvent(1501, pos, 0);
     }
 
-    public static boolean shouldConvertToBlackstone(BlockView world, BlockPos pos) {
-        return RugSettings.basaltToBlackstoneConversion
-                && isFluidAdjacent(FluidTags.WATER, world, pos)
-                && isFluidAdjacent(FluidTags.LAVA, world, pos);
-    }
-
-    public static boolean shouldConvertToLava(BlockView world, BlockPos pos) {
-        return RugSettings.basaltToLavaConversion
-                && isFlowingFluidAdjacent(FluidTags.LAVA, world, pos)
-                && isStillFluidAdjacent(FluidTags.LAVA, world, pos)
-                && isBlockAdjacent(Blocks.MAGMA_BLOCK, world, pos);
-    }
+    /**
+     * Placement hook for basalt, see {@link BlockHooks#onPlacement}.
+     */
+    @Nullable
+    public static BlockState convertBasaltToLava(World world, BlockPos pos, BlockState state) {
+        if (!shouldConvertToLava(world, pos)) return null;
+        BlockState prevState = world.getBlockState(pos);
+        // keep still lava as it is, so that the fluid doesn't update and try placing basalt again
+        if (prevState.isOf(Blocks.LAVA) && prevState.getFluidState().isStill()) return prevState;
 
-    private static boolean isBlockAdjacent(Block block, BlockView world, BlockPos pos) {
-        for (Direction direction : Direction.values()) {
-            if (world.getBlockState(pos.offset(direction)).isOf(block)) return true;
-        }
-        return false;
+        playFizzleSound(world, pos);
+        world.playSound(null, pos, SoundEvents.ITEM_BUCKET_EMPTY_LAVA, SoundCategory.BLOCKS, 1.0F, 1.0F);
+        return Blocks.LAVA.getDefaultState();
     }
 
-    private static boolean isFluidAdjacent(TagKey<Fluid> fluid, BlockView world, BlockPos pos, FluidFlowType type) {
-        for (Direction direction : Direction.values()) {
-            FluidState fluidState = world.getFluidState(pos.offset(direction));
-            if (fluidState.isIn(fluid)
-                    && ((type == FluidFlowType.STILL && fluidState.isStill())
-                            || (type == FluidFlowType.FLOWING && !fluidState.isStill())
-                            || (type == FluidFlowType.ANY))) {
-
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Neighbor update hook for basalt, see {@link BlockHooks#onNeighborUpdate}.
+     */
+    @Nullable
+    public static BlockState convertBasaltToBlackstone(
+            BlockState state,
+            Direction direction,
+            BlockState neighborState,
+            WorldAccess world,
+            BlockPos pos,
+            BlockPos neighborPos) {
+        if (!shouldConvertToBlackstone(world, pos)) return null;
+        playFizzleSound(world, pos);
+        return Blocks.BLACKSTONE.getDefaultState();
     }
 
-    private static boolean isFluidAdjacent(TagKey<Fluid> fluid, BlockView world, BlockPos pos) {
-        return isFluidAdjacent(fluid, world, pos, FluidFlowType.ANY);
+    public static boolean shouldConvertToBlackstone(BlockView world, BlockPos pos) {
+        if (!RugSettings.basaltToBlackstoneConversion) return false;
+        int neighbors = sampleNeighbors(world, pos);
+        return (neighbors & WATER) != 0 && (neighbors & (STILL_LAVA | FLOWING_LAVA)) != 0;
     }
 
-    private static boolean isStillFluidAdjacent(TagKey<Fluid> fluid, BlockView world, BlockPos pos) {
-        return isFluidAdjacent(fluid, world, pos, FluidFlowType.STILL);
+    public static boolean shouldConvertToLava(BlockView world, BlockPos pos) {
+        if (!RugSettings.basaltToLavaConversion) return false;
+        int neighbors = sampleNeighbors(world, pos);
+        return (neighbors & (MAGMA_BLOCK | STILL_LAVA | FLOWING_LAVA)) == (MAGMA_BLOCK | STILL_LAVA | FLOWING_LAVA);
     }
 
-    private static boolean isFlowingFluidAdjacent(TagKey<Fluid> fluid, BlockView world, BlockPos pos) {
-        return isFluidAdjacent(fluid, world, pos, FluidFlowType.FLOWING);
-    }
+    /**
+     * Reads the block and fluid states of all six neighbors once and returns which of the above flags apply to any of
+     * them.
+     */
+    private static int sampleNeighbors(BlockView world, BlockPos pos) {
+        BlockPos.Mutable neighborPos = MUTABLE_POS.get();
+        int neighbors = 0;
+        for (Direction direction : DIRECTIONS) {
+            BlockState state = world.getBlockState(neighborPos.set(pos, direction));
+            if (state.isOf(Blocks.MAGMA_BLOCK)) neighbors |= MAGMA_BLOCK;
 
-    private enum FluidFlowType {
-        STILL,
-        FLOWING,
-        ANY
+            FluidState fluidState = state.getFluidState();
+            if (fluidState.isIn(FluidTags.WATER)) {
+                neighbors |= WATER;
+            } else if (fluidState.isIn(FluidTags.LAVA)) {
+                neighbors |= fluidState.isStill() ? STILL_LAVA : FLOWING_LAVA;
+            }
+        }
+        return neighbors;
     }
 }
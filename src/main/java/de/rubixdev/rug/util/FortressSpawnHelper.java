@@ -0,0 +1,46 @@
+package de.rubixdev.rug.util;
+
+import de.rubixdev.rug.RugSettings;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+public class FortressSpawnHelper {
+    /**
+     * The blocks fortress mobs can spawn on with {@code moreFortressSpawningBlocks} set to {@code more}. Datapacks can
+     * override this tag.
+     */
+    public static final TagKey<Block> SPAWNABLE_FLOORS =
+            TagKey.of(RegistryKeys.BLOCK, new Identifier("rug", "fortress_spawnable_floors"));
+
+    private static volatile Mode mode = Mode.OFF;
+
+    /**
+     * Must be called whenever {@code moreFortressSpawningBlocks} changes, so that {@link #isValidFloor} doesn't have
+     * to compare strings on every spawn attempt.
+     */
+    public static void updateMode() {
+        mode = switch (RugSettings.moreFortressSpawningBlocks) {
+            case "more" -> Mode.MORE;
+            case "all" -> Mode.ALL;
+            default -> Mode.OFF;
+        };
+    }
+
+    public static boolean isValidFloor(BlockState floorBlock) {
+        return switch (mode) {
+            case OFF -> floorBlock.isOf(Blocks.NETHER_BRICKS);
+            case MORE -> floorBlock.isIn(SPAWNABLE_FLOORS) || floorBlock.isOf(Blocks.NETHER_BRICKS);
+            case ALL -> true;
+        };
+    }
+
+    private enum Mode {
+        OFF,
+        MORE,
+        ALL
+    }
+}
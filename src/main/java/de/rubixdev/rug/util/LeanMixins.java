@@ -0,0 +1,163 @@
+package de.rubixdev.rug.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.loader.api.FabricLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lean mode skips applying mixins whose rules are all at their default value in the world's {@code carpet.conf}.
+ * Those rules then cost nothing at runtime, but changing them only takes effect after a restart.
+ *
+ * <p>This runs while mixins are being loaded, so it must not touch any Minecraft classes. It is only supported on
+ * dedicated servers, because the world isn't known at that point on clients.
+ */
+public class LeanMixins {
+    public static final String RULE = "leanMixins";
+
+    private static final Logger LOGGER = LogManager.getLogger("Rug");
+    private static final String MIXIN_PACKAGE = "de.rubixdev.rug.mixins.";
+
+    /**
+     * All mixins which only do something if one of their rules is set to a non-default value. Mixins not listed
+     * here are always applied.
+     */
+    private static final Map<String, Set<String>> RULES_BY_MIXIN = ImmutableMap.<String, Set<String>>builder()
+            .put(
+                    "AbsractBlockStateMixin",
+                    Set.of("kelpBlockHardness", "snowMelting", "zombifiedPiglinsSpawningInPortals"))
+            .put("AbstractMinecartEntityMixin", Set.of("minecartMaxSpeedMultiplier"))
+            .put("AbstractPlantStemBlockMixin", Set.of("zeroTickPlants"))
+            .put("BambooBlockMixin", Set.of("zeroTickPlants"))
+            .put("CactusBlockMixin", Set.of("zeroTickPlants"))
+            .put("ChorusFlowerBlockMixin", Set.of("zeroTickPlants"))
+            .put("CreeperEntityMixin", Set.of("noCreeperGriefing"))
+            .put("EndermanEntityMixin", Set.of("noEndermanGriefing"))
+            .put("FallingBlockMixin", Set.of("tallPlantNoUpdate"))
+            .put("FluidBlockMixin", Set.of("basaltToLavaConversion", "netherrackGeneration"))
+            .put("FurnaceMinecartEntityMixin", Set.of("minecartMaxSpeedMultiplier"))
+            .put("GhastEntityMixin", Set.of("noGhastGriefing"))
+            .put("NetherPortalBlockMixin", Set.of("zombifiedPiglinsSpawningInPortals"))
+            .put("RedstoneLampBlockMixin", Set.of("redstoneLampTurnOffDelay"))
+            .put("SlimeEntityMixin", Set.of("slimeChunkPercentage"))
+            .put("SnowBlockMixin", Set.of("snowMelting"))
+            .put("SpawnHelperMixin", Set.of("moreFortressSpawningBlocks"))
+            .put("SugarCaneBlockMixin", Set.of("zeroTickPlants"))
+            .put("TallPlantBlockMixin", Set.of("tallPlantNoUpdate"))
+            .put("ThrownEntityMixin", Set.of("eggWaterDrag", "enderPearlWaterDrag", "snowballWaterDrag"))
+            .put("WorldChunkMixin", Set.of("snowMelting", "zombifiedPiglinsSpawningInPortals"))
+            .build();
+
+    private static final Set<String> WORLD_OPTIONS = Set.of("universe", "world");
+
+    private static final Set<String> skippedRules = Sets.newConcurrentHashSet();
+
+    /**
+     * The rules which are set in {@code carpet.conf}, or {@code null} if lean mode is disabled.
+     */
+    @Nullable
+    private static Set<String> configuredRules = null;
+
+    public static void load() {
+        if (FabricLoader.getInstance().getEnvironmentType() != EnvType.SERVER) return;
+
+        Path gameDir = FabricLoader.getInstance().getGameDir();
+        Map<String, String> worldArguments = parseWorldArguments(FabricLoader.getInstance().getLaunchArguments(true));
+        if (worldArguments == null) {
+            LOGGER.warn("Could not determine the world from the launch arguments, lean mode is disabled");
+            return;
+        }
+        String levelName = worldArguments.get("world");
+        if (levelName == null) {
+            Properties serverProperties = new Properties();
+            Path serverPropertiesFile = gameDir.resolve("server.properties");
+            if (Files.exists(serverPropertiesFile)) {
+                try (Reader reader = Files.newBufferedReader(serverPropertiesFile)) {
+                    serverProperties.load(reader);
+                } catch (IOException e) {
+                    LOGGER.warn("Could not read server.properties, lean mode is disabled", e);
+                    return;
+                }
+            }
+            levelName = serverProperties.getProperty("level-name", "world");
+        }
+        Path carpetConf = gameDir.resolve(worldArguments.getOrDefault("universe", "."))
+                .resolve(levelName)
+                .resolve("carpet.conf");
+        if (!Files.exists(carpetConf)) return;
+
+        Set<String> rules = Sets.newHashSet();
+        boolean lean = false;
+        try {
+            List<String> lines = Files.readAllLines(carpetConf);
+            for (String line : lines) {
+                String[] fields = line.trim().split("\\s+", 2);
+                if (fields[0].isEmpty() || fields[0].startsWith("#") || fields.length < 2) continue;
+                rules.add(fields[0]);
+                if (fields[0].equals(RULE)) lean = Boolean.parseBoolean(fields[1].trim());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read " + carpetConf + ", lean mode is disabled", e);
+            return;
+        }
+        if (lean) configuredRules = rules;
+    }
+
+    /**
+     * Returns the values of the {@code --universe} and {@code --world} arguments the dedicated server was started with,
+     * or {@code null} if they can't be told apart reliably, e.g. because an option was abbreviated.
+     */
+    @Nullable
+    private static Map<String, String> parseWorldArguments(String[] args) {
+        Map<String, String> values = Maps.newHashMap();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) continue;
+            if (args[i].equals("--")) break;
+            String[] option = args[i].substring(2).split("=", 2);
+            if (!WORLD_OPTIONS.contains(option[0])) {
+                // the server accepts unique prefixes of its options as well
+                if (WORLD_OPTIONS.stream().anyMatch(name -> name.startsWith(option[0]))) return null;
+                continue;
+            }
+            if (option.length == 2) {
+                values.put(option[0], option[1]);
+            } else if (i + 1 < args.length) {
+                values.put(option[0], args[++i]);
+            } else {
+                return null;
+            }
+        }
+        return values;
+    }
+
+    public static boolean shouldApply(String mixinClassName) {
+        if (configuredRules == null || !mixinClassName.startsWith(MIXIN_PACKAGE)) return true;
+        Set<String> rules = RULES_BY_MIXIN.get(mixinClassName.substring(MIXIN_PACKAGE.length()));
+        if (rules == null || rules.stream().anyMatch(configuredRules::contains)) return true;
+
+        if (skippedRules.addAll(rules)) {
+            LOGGER.info("Lean mode: not applying " + mixinClassName + ", changes to " + rules + " require a restart");
+        }
+        return false;
+    }
+
+    /**
+     * Whether changes to the given rule only take effect after a restart, because lean mode didn't apply all its
+     * mixins.
+     */
+    public static boolean requiresRestart(String ruleName) {
+        return ruleName.equals(RULE) || skippedRules.contains(ruleName);
+    }
+}
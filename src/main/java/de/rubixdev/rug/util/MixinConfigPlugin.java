@@ -10,7 +10,9 @@ import org.spongepowered.asm.mixin.extensibility.IMixinInfo;
 
 public class MixinConfigPlugin implements IMixinConfigPlugin {
     @Override
-    public void onLoad(String mixinPackage) {}
+    public void onLoad(String mixinPackage) {
+        LeanMixins.load();
+    }
 
     @Override
     public String getRefMapperConfig() {
@@ -32,7 +34,7 @@ public class MixinConfigPlugin implements IMixinConfigPlugin {
         if (reachDistanceMixins.contains(mixinClassName)) {
             return RugSettings.shouldApplyReachDistance();
         }
-        return true;
+        return LeanMixins.shouldApply(mixinClassName);
     }
 
     @Override
@@ -0,0 +1,90 @@
+package de.rubixdev.rug.util;
+
+import de.rubixdev.rug.RugSettings;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+/**
+ * Decides which pairs of blocks don't stick together because of {@code honeyCombStickiness}. Every block is assigned
+ * one of a few stickiness classes, and which pairs of classes don't stick is precomputed into a table for the current
+ * rule value, so that the piston structure resolver only does an array read for every pair of blocks.
+ */
+public class PistonStickiness {
+    /**
+     * The blocks which only stick to the blocks selected by {@code honeyCombStickiness}. Datapacks can add other blocks
+     * to this tag.
+     */
+    public static final TagKey<Block> HONEYCOMB_STICKINESS =
+            TagKey.of(RegistryKeys.BLOCK, new Identifier("rug", "honeycomb_stickiness"));
+
+    private static final byte OTHER = 0;
+    private static final byte HONEYCOMB = 1;
+    private static final byte SLIME = 2;
+    private static final byte HONEY = 3;
+    private static final int CLASSES = 4;
+
+    private static volatile Table table = new Table("both");
+
+    public static void register() {
+        ((Holder) Blocks.SLIME_BLOCK).rug$setStickiness(SLIME);
+        ((Holder) Blocks.HONEY_BLOCK).rug$setStickiness(HONEY);
+        // tags are loaded on both sides, because the rule also applies on clients
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> updateBlocks());
+    }
+
+    /**
+     * Whether the two blocks must not stick together, even though vanilla might let them.
+     */
+    public static boolean isUnstuck(BlockState state, BlockState adjacentState) {
+        Table table = PistonStickiness.table;
+        // the rule is synced to clients as well, so the table is rebuilt here instead of in a rule observer
+        if (table.option != RugSettings.honeyCombStickiness) {
+            table = new Table(RugSettings.honeyCombStickiness);
+            PistonStickiness.table = table;
+        }
+        return table.unstuck[getStickiness(state) * CLASSES + getStickiness(adjacentState)];
+    }
+
+    private static void updateBlocks() {
+        for (Block block : Registries.BLOCK) {
+            byte stickiness;
+            if (block == Blocks.SLIME_BLOCK) stickiness = SLIME;
+            else if (block == Blocks.HONEY_BLOCK) stickiness = HONEY;
+            else if (block.getDefaultState().isIn(HONEYCOMB_STICKINESS)) stickiness = HONEYCOMB;
+            else stickiness = OTHER;
+            ((Holder) block).rug$setStickiness(stickiness);
+        }
+    }
+
+    private static int getStickiness(BlockState state) {
+        return ((Holder) state.getBlock()).rug$getStickiness();
+    }
+
+    private static class Table {
+        private final String option;
+        private final boolean[] unstuck = new boolean[CLASSES * CLASSES];
+
+        private Table(String option) {
+            this.option = option;
+            boolean slime = option.equals("honey") || option.equals("none");
+            boolean honey = option.equals("slime") || option.equals("none");
+            unstuck[HONEYCOMB * CLASSES + SLIME] = unstuck[SLIME * CLASSES + HONEYCOMB] = slime;
+            unstuck[HONEYCOMB * CLASSES + HONEY] = unstuck[HONEY * CLASSES + HONEYCOMB] = honey;
+        }
+    }
+
+    /**
+     * Implemented by every {@link Block} through {@code AbstractBlockMixin}.
+     */
+    public interface Holder {
+        byte rug$getStickiness();
+
+        void rug$setStickiness(byte stickiness);
+    }
+}
@@ -0,0 +1,75 @@
+package de.rubixdev.rug.util;
+
+import de.rubixdev.rug.RugSettings;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ChunkHolder;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Makes blocks stop random ticking while the rule controlling their random tick is disabled. Their states then don't
+ * count as random ticking, so chunk sections made up of them are skipped entirely instead of picking the blocks and
+ * cancelling their random ticks.
+ */
+public class RandomTickFilter {
+    /**
+     * Whether the filter has changed since startup. Chunks that were generating at that time may have counted their
+     * random ticking blocks with the old filter, so they are recounted once they are promoted to a {@link WorldChunk}.
+     */
+    private static volatile boolean changedOnce = false;
+
+    /**
+     * Must be called whenever {@code snowMelting} or {@code zombifiedPiglinsSpawningInPortals} changes. Recounts the
+     * random ticking blocks of all loaded chunks of the given server if the filter changed.
+     */
+    public static void update(@Nullable MinecraftServer server) {
+        boolean changed = setSuppressed(Blocks.SNOW, !RugSettings.snowMelting);
+        changed |= setSuppressed(Blocks.NETHER_PORTAL, !RugSettings.zombifiedPiglinsSpawningInPortals);
+        if (!changed) return;
+        changedOnce = true;
+        if (server != null) recount(server);
+    }
+
+    /**
+     * Called on the server thread when a proto chunk has been promoted to the given chunk.
+     */
+    public static void onPromoted(WorldChunk chunk) {
+        if (!changedOnce) return;
+        for (ChunkSection section : chunk.getSectionArray()) section.calculateCounts();
+    }
+
+    public static boolean isSuppressed(Block block) {
+        return ((Holder) block).rug$isRandomTickSuppressed();
+    }
+
+    private static boolean setSuppressed(Block block, boolean suppressed) {
+        Holder holder = (Holder) block;
+        if (holder.rug$isRandomTickSuppressed() == suppressed) return false;
+        holder.rug$setRandomTickSuppressed(suppressed);
+        return true;
+    }
+
+    private static void recount(MinecraftServer server) {
+        for (ServerWorld world : server.getWorlds()) {
+            for (ChunkHolder holder : world.getChunkManager().threadedAnvilChunkStorage.entryIterator()) {
+                // proto chunks may still be written to by worldgen threads, they are recounted in onPromoted instead
+                WorldChunk chunk = holder.getWorldChunk();
+                if (chunk == null) continue;
+                for (ChunkSection section : chunk.getSectionArray()) section.calculateCounts();
+            }
+        }
+    }
+
+    /**
+     * Implemented by every {@link Block} through {@code AbstractBlockMixin}.
+     */
+    public interface Holder {
+        boolean rug$isRandomTickSuppressed();
+
+        void rug$setRandomTickSuppressed(boolean suppressed);
+    }
+}
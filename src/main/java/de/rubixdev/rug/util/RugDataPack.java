@@ -0,0 +1,129 @@
+package de.rubixdev.rug.util;
+
+import de.rubixdev.rug.RugServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import net.minecraft.resource.AbstractFileResourcePack;
+import net.minecraft.resource.InputSupplier;
+import net.minecraft.resource.ResourcePack;
+import net.minecraft.resource.ResourcePackProfile;
+import net.minecraft.resource.ResourcePackProvider;
+import net.minecraft.resource.ResourcePackSource;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.resource.metadata.ResourceMetadataReader;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A virtual datapack which only lives in memory. Rug puts the recipes of all enabled crafting rules in here instead
+ * of writing them to the world's datapacks folder.
+ */
+public class RugDataPack implements ResourcePack, ResourcePackProvider {
+    public static final String NAME = "RugData";
+    private static final String PACK_METADATA = "assets/rug/RugDataStorage/pack.mcmeta";
+
+    private final Map<Identifier, byte[]> files = new ConcurrentHashMap<>();
+    private final Set<Identifier> changedFiles = ConcurrentHashMap.newKeySet();
+
+    @Nullable
+    public byte[] get(Identifier id) {
+        return files.get(id);
+    }
+
+    /**
+     * Puts a file into the pack. It is only marked as changed if its content differs from what was there before.
+     */
+    public void put(Identifier id, byte[] content) {
+        byte[] previous = files.put(id, content);
+        if (!Arrays.equals(previous, content)) changedFiles.add(id);
+    }
+
+    public void remove(Identifier id) {
+        if (files.remove(id) != null) changedFiles.add(id);
+    }
+
+    /**
+     * Returns all files that were added, changed or removed since the last call.
+     */
+    public Set<Identifier> pollChangedFiles() {
+        Set<Identifier> changed = Set.copyOf(changedFiles);
+        changedFiles.removeAll(changed);
+        return changed;
+    }
+
+    @Override
+    public void register(Consumer<ResourcePackProfile> profileAdder) {
+        ResourcePackProfile profile = ResourcePackProfile.create(
+                NAME,
+                Text.literal(NAME),
+                true,
+                name -> this,
+                ResourceType.SERVER_DATA,
+                ResourcePackProfile.InsertionPosition.TOP,
+                ResourcePackSource.BUILTIN);
+        if (profile != null) profileAdder.accept(profile);
+    }
+
+    @Nullable
+    @Override
+    public InputSupplier<InputStream> openRoot(String... segments) {
+        if (segments.length != 1 || !segments[0].equals("pack.mcmeta")) return null;
+        return () -> {
+            InputStream stream = RugServer.class.getClassLoader().getResourceAsStream(PACK_METADATA);
+            if (stream == null) throw new IOException("Resource '" + PACK_METADATA + "' is null");
+            return stream;
+        };
+    }
+
+    @Nullable
+    @Override
+    public InputSupplier<InputStream> open(ResourceType type, Identifier id) {
+        if (type != ResourceType.SERVER_DATA) return null;
+        byte[] content = files.get(id);
+        if (content == null) return null;
+        return () -> new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void findResources(ResourceType type, String namespace, String prefix, ResultConsumer consumer) {
+        if (type != ResourceType.SERVER_DATA) return;
+        String pathPrefix = prefix + "/";
+        files.forEach((id, content) -> {
+            if (id.getNamespace().equals(namespace) && id.getPath().startsWith(pathPrefix)) {
+                consumer.accept(id, () -> new ByteArrayInputStream(content));
+            }
+        });
+    }
+
+    @Override
+    public Set<String> getNamespaces(ResourceType type) {
+        if (type != ResourceType.SERVER_DATA) return Set.of();
+        return files.keySet().stream().map(Identifier::getNamespace).collect(Collectors.toSet());
+    }
+
+    @Nullable
+    @Override
+    public <T> T parseMetadata(ResourceMetadataReader<T> metaReader) throws IOException {
+        InputSupplier<InputStream> inputSupplier = openRoot("pack.mcmeta");
+        assert inputSupplier != null;
+        try (InputStream inputStream = inputSupplier.get()) {
+            return AbstractFileResourcePack.parseMetadata(metaReader, inputStream);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void close() {}
+}
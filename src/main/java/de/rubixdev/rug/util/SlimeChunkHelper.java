@@ -0,0 +1,91 @@
+package de.rubixdev.rug.util;
+
+import de.rubixdev.rug.RugSettings;
+import it.unimi.dsi.fastutil.HashCommon;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.ChunkRandom;
+
+/**
+ * Decides which chunks are slime chunks. The results are cached per seed in bitmaps covering regions of 32x32 chunks,
+ * which are filled the first time any chunk in them is looked up. The regions are stored in a fixed number of slots
+ * picked by hashing their position, so a new region replaces whichever region used its slot before. Changing
+ * {@code slimeChunkPercentage} discards the cache.
+ */
+public class SlimeChunkHelper {
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    // at most 4096 regions of 128 bytes each, no matter how far players travel
+    private static final int REGION_SLOTS = 4096;
+
+    private static final Map<Long, Cache> caches = new ConcurrentHashMap<>();
+    // all dimensions of a server share one seed, so this almost always hits without boxing the seed
+    private static volatile Cache lastCache = null;
+
+    public static boolean isSlimeChunk(long seed, int chunkX, int chunkZ) {
+        int percentage = RugSettings.slimeChunkPercentage;
+        if (percentage <= 0) return false;
+        if (percentage >= 100) return true;
+
+        Cache cache = lastCache;
+        if (cache == null || cache.seed != seed || cache.percentage != percentage) {
+            cache = caches.compute(seed, (key, existing) -> existing != null && existing.percentage == percentage
+                    ? existing
+                    : new Cache(seed, percentage));
+            lastCache = cache;
+        }
+        return cache.isSlimeChunk(chunkX, chunkZ);
+    }
+
+    /**
+     * Computes whether a chunk is a slime chunk without going through the cache.
+     */
+    public static boolean computeSlimeChunk(long seed, int chunkX, int chunkZ, int percentage) {
+        return ChunkRandom.getSlimeRandom(chunkX, chunkZ, seed, 987234911L).nextInt(10) < percentage / 10;
+    }
+
+    private static class Cache {
+        private final long seed;
+        private final int percentage;
+        // lock-free, two threads may compute the same region at once and the last one keeps the slot
+        private final AtomicReferenceArray<Region> regions = new AtomicReferenceArray<>(REGION_SLOTS);
+
+        private Cache(long seed, int percentage) {
+            this.seed = seed;
+            this.percentage = percentage;
+        }
+
+        private boolean isSlimeChunk(int chunkX, int chunkZ) {
+            int regionX = chunkX >> REGION_SHIFT;
+            int regionZ = chunkZ >> REGION_SHIFT;
+            long key = ChunkPos.toLong(regionX, regionZ);
+            int slot = (int) HashCommon.mix(key) & (REGION_SLOTS - 1);
+            Region region = regions.get(slot);
+            if (region == null || region.key != key) {
+                region = new Region(key, computeRegion(regionX, regionZ));
+                regions.set(slot, region);
+            }
+            int index = (chunkZ & REGION_MASK) << REGION_SHIFT | (chunkX & REGION_MASK);
+            return (region.bits[index >> 6] & (1L << index)) != 0;
+        }
+
+        private long[] computeRegion(int regionX, int regionZ) {
+            long[] bits = new long[(1 << (2 * REGION_SHIFT)) / 64];
+            for (int z = 0; z <= REGION_MASK; z++) {
+                for (int x = 0; x <= REGION_MASK; x++) {
+                    int chunkX = (regionX << REGION_SHIFT) + x;
+                    int chunkZ = (regionZ << REGION_SHIFT) + z;
+                    if (computeSlimeChunk(seed, chunkX, chunkZ, percentage)) {
+                        int index = z << REGION_SHIFT | x;
+                        bits[index >> 6] |= 1L << index;
+                    }
+                }
+            }
+            return bits;
+        }
+
+        private record Region(long key, long[] bits) {}
+    }
+}
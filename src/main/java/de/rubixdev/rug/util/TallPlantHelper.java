@@ -0,0 +1,16 @@
+package de.rubixdev.rug.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.tag.BlockTags;
+
+public class TallPlantHelper {
+    /**
+     * Whether the block is one of the tall plants affected by {@code tallPlantNoUpdate}.
+     */
+    public static boolean isTallPlant(BlockState blockState) {
+        return blockState.isIn(BlockTags.TALL_FLOWERS)
+                || blockState.isOf(Blocks.TALL_GRASS)
+                || blockState.isOf(Blocks.LARGE_FERN);
+    }
+}
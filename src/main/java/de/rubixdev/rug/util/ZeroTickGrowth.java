@@ -0,0 +1,112 @@
+package de.rubixdev.rug.util;
+
+import com.google.common.collect.Maps;
+import de.rubixdev.rug.RugSettings;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import java.util.Map;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+
+/**
+ * Runs the growth forced by {@code zeroTickPlants} within a budget of {@code zeroTickPlantsBudget} plants per world
+ * and tick. Growth over the budget is deferred to the following ticks, and counted so that {@code /zerotick} can show
+ * how much a farm grows.
+ */
+public class ZeroTickGrowth {
+    // a farm can't queue up more than this, the growth beyond it is dropped
+    private static final int MAX_PENDING = 65536;
+
+    private static final Map<RegistryKey<World>, WorldState> states = Maps.newHashMap();
+
+    public static void register() {
+        ServerTickEvents.START_WORLD_TICK.register(ZeroTickGrowth::onWorldTick);
+        ServerWorldEvents.UNLOAD.register((server, world) -> states.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Grows the plant at {@code pos} as if it was random ticked, or defers that if the world's budget for this tick is
+     * used up.
+     */
+    public static void forceGrowth(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        WorldState worldState = states.computeIfAbsent(world.getRegistryKey(), key -> new WorldState());
+        int budget = RugSettings.zeroTickPlantsBudget;
+        if (budget > 0 && worldState.grownThisTick >= budget) {
+            worldState.defer(pos, state.getBlock());
+            return;
+        }
+        worldState.grownThisTick++;
+        worldState.grown++;
+        state.randomTick(world, pos, random);
+    }
+
+    /**
+     * Returns the counters of every world in which plants were force grown since the last reset.
+     */
+    public static Map<RegistryKey<World>, Stats> getStats() {
+        Map<RegistryKey<World>, Stats> stats = Maps.newHashMap();
+        states.forEach((key, state) ->
+                stats.put(key, new Stats(state.grown, state.deferred, state.dropped, state.pending.size())));
+        return stats;
+    }
+
+    public static void resetStats() {
+        for (WorldState state : states.values()) {
+            state.grown = 0;
+            state.deferred = 0;
+            state.dropped = 0;
+        }
+    }
+
+    private static void onWorldTick(ServerWorld world) {
+        WorldState state = states.get(world.getRegistryKey());
+        if (state == null) return;
+        state.grownThisTick = 0;
+
+        int budget = RugSettings.zeroTickPlantsBudget;
+        while (!state.pending.isEmpty() && (budget <= 0 || state.grownThisTick < budget)) {
+            BlockPos pos = BlockPos.fromLong(state.pending.firstLongKey());
+            Block block = state.pending.removeFirst();
+            // the plant may have been harvested or unloaded in the meantime
+            if (!RugSettings.zeroTickPlants || !world.isChunkLoaded(pos)) {
+                state.dropped++;
+                continue;
+            }
+            BlockState blockState = world.getBlockState(pos);
+            if (!blockState.isOf(block) || !blockState.canPlaceAt(world, pos)) {
+                state.dropped++;
+                continue;
+            }
+            state.grownThisTick++;
+            state.grown++;
+            blockState.randomTick(world, pos, world.random);
+        }
+    }
+
+    public record Stats(long grown, long deferred, long dropped, int pending) {}
+
+    private static class WorldState {
+        // one pending growth per position, in the order they were deferred
+        private final Long2ObjectLinkedOpenHashMap<Block> pending = new Long2ObjectLinkedOpenHashMap<>();
+        private int grownThisTick = 0;
+        private long grown = 0;
+        private long deferred = 0;
+        private long dropped = 0;
+
+        private void defer(BlockPos pos, Block block) {
+            long key = pos.asLong();
+            if (pending.size() >= MAX_PENDING || pending.containsKey(key)) {
+                dropped++;
+                return;
+            }
+            pending.put(key, block);
+            deferred++;
+        }
+    }
+}